@@ -0,0 +1,89 @@
+// Teste de carga com k6 (https://k6.io) comparando a API MVC com a reativa (todo-app-reactive)
+// no tráfego de polling: muitos clientes repetindo GET /tasks (metade com If-None-Match) e GET /users/me,
+// mais uma fração de escritas em /tasks.
+//
+// Uso (o token vem sempre do login da API MVC; as duas validam o mesmo segredo):
+//   k6 run -e AUTH_URL=http://localhost:8080 -e BASE_URL=http://localhost:8080 load-test/mvc-vs-reactive.js
+//   k6 run -e AUTH_URL=http://localhost:8080 -e BASE_URL=http://localhost:8081 load-test/mvc-vs-reactive.js
+//
+// Compare http_reqs/s, os percentis de http_req_duration por cenário e o consumo de CPU/memória
+// de cada processo. Desligue o limitador da API MVC (--app.rate-limit.enabled=false) nas duas rodadas.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const AUTH_URL = __ENV.AUTH_URL || 'http://localhost:8080';
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8081';
+const USERNAME = __ENV.USERNAME || 'admin';
+const PASSWORD = __ENV.PASSWORD || 'senha000';
+const CLIENTS = parseInt(__ENV.CLIENTS || '5000', 10);
+const DURATION = __ENV.DURATION || '2m';
+
+export const options = {
+  scenarios: {
+    poll: {
+      executor: 'constant-vus',
+      exec: 'poll',
+      vus: Math.floor(CLIENTS * 0.95),
+      duration: DURATION,
+    },
+    write: {
+      executor: 'constant-vus',
+      exec: 'write',
+      vus: Math.ceil(CLIENTS * 0.05),
+      duration: DURATION,
+    },
+  },
+  thresholds: {
+    'http_req_failed{scenario:poll}': ['rate<0.01'],
+    'http_req_duration{scenario:poll}': ['p(99)<1000'],
+  },
+};
+
+const jsonHeaders = { 'Content-Type': 'application/json' };
+
+export function setup() {
+  const response = http.post(`${AUTH_URL}/auth/login`,
+    JSON.stringify({ username: USERNAME, password: PASSWORD }), { headers: jsonHeaders });
+  check(response, { 'login de setup ok': (r) => r.status === 200 });
+  return { token: response.json('token') };
+}
+
+let etag = null;
+
+export function poll(data) {
+  const headers = { Authorization: `Bearer ${data.token}` };
+  if (etag && __ITER % 2 === 1) {
+    headers['If-None-Match'] = etag;
+  }
+  const tasks = http.get(`${BASE_URL}/tasks?limit=100`, { headers, tags: { name: 'GET /tasks' } });
+  check(tasks, { 'GET /tasks 200/304': (r) => r.status === 200 || r.status === 304 });
+  if (tasks.status === 200) {
+    etag = tasks.headers['Etag'];
+  }
+
+  const me = http.get(`${BASE_URL}/users/me`, {
+    headers: { Authorization: `Bearer ${data.token}` },
+    tags: { name: 'GET /users/me' },
+  });
+  check(me, { 'GET /users/me 200': (r) => r.status === 200 });
+}
+
+export function write(data) {
+  const headers = { ...jsonHeaders, Authorization: `Bearer ${data.token}` };
+  const created = http.post(`${BASE_URL}/tasks`,
+    JSON.stringify({ title: `k6 ${__VU}-${__ITER}`, description: 'teste de carga', priority: 'Baixa' }),
+    { headers, tags: { name: 'POST /tasks' } });
+  check(created, { 'POST /tasks 201': (r) => r.status === 201 });
+  if (created.status !== 201) {
+    return;
+  }
+
+  const id = created.json('id');
+  const updated = http.put(`${BASE_URL}/tasks/${id}`, JSON.stringify({ status: 'Feito' }),
+    { headers, tags: { name: 'PUT /tasks/{id}' } });
+  check(updated, { 'PUT /tasks/{id} 200': (r) => r.status === 200 });
+
+  const deleted = http.del(`${BASE_URL}/tasks/${id}`, null,
+    { headers: { Authorization: `Bearer ${data.token}` }, tags: { name: 'DELETE /tasks/{id}' } });
+  check(deleted, { 'DELETE /tasks/{id} 204': (r) => r.status === 204 });
+}
@@ -0,0 +1,58 @@
+// Teste de carga com k6 (https://k6.io) para GET /tasks e POST /auth/login.
+//
+// Uso:
+//   k6 run -e BASE_URL=http://localhost:8080 -e USERNAME=admin -e PASSWORD=senha000 load-test/tasks-and-login.js
+//
+// Rode uma vez com a aplicação em threads de plataforma e outra com
+// --spring.profiles.active=virtual-threads (build com -Pjava21) e compare
+// http_reqs/s e os percentis de http_req_duration de cada cenário.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const USERNAME = __ENV.USERNAME || 'admin';
+const PASSWORD = __ENV.PASSWORD || 'senha000';
+const CLIENTS = parseInt(__ENV.CLIENTS || '5000', 10);
+const DURATION = __ENV.DURATION || '2m';
+
+export const options = {
+  scenarios: {
+    tasks: {
+      executor: 'constant-vus',
+      exec: 'listTasks',
+      vus: Math.floor(CLIENTS * 0.9),
+      duration: DURATION,
+    },
+    login: {
+      executor: 'constant-vus',
+      exec: 'login',
+      vus: Math.ceil(CLIENTS * 0.1),
+      duration: DURATION,
+    },
+  },
+  thresholds: {
+    'http_req_failed{scenario:tasks}': ['rate<0.01'],
+    'http_req_duration{scenario:tasks}': ['p(99)<1000'],
+  },
+};
+
+const loginBody = JSON.stringify({ username: USERNAME, password: PASSWORD });
+const jsonHeaders = { 'Content-Type': 'application/json' };
+
+export function setup() {
+  const response = http.post(`${BASE_URL}/auth/login`, loginBody, { headers: jsonHeaders });
+  check(response, { 'login de setup ok': (r) => r.status === 200 });
+  return { token: response.json('token') };
+}
+
+export function listTasks(data) {
+  const response = http.get(`${BASE_URL}/tasks?limit=100`, {
+    headers: { Authorization: `Bearer ${data.token}` },
+  });
+  check(response, { 'GET /tasks 200': (r) => r.status === 200 });
+}
+
+export function login() {
+  const response = http.post(`${BASE_URL}/auth/login`, loginBody, { headers: jsonHeaders });
+  check(response, { 'POST /auth/login 200': (r) => r.status === 200 });
+}
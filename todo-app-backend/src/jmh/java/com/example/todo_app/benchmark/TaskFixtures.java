@@ -0,0 +1,39 @@
+package com.example.todo_app.benchmark;
+
+import com.example.todo_app.models.Task;
+import com.example.todo_app.models.User;
+import com.example.todo_app.models.enums.Priority;
+import com.example.todo_app.models.enums.Status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+final class TaskFixtures {
+
+    private TaskFixtures() {
+    }
+
+    static List<Task> tasks(int count) {
+        User owner = new User("benchmark", "ignored", "ROLE_USER");
+        owner.setId(1L);
+
+        Priority[] priorities = Priority.values();
+        Status[] statuses = Status.values();
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Task task = new Task();
+            task.setId((long) i + 1);
+            task.setTitle("Tarefa " + i);
+            task.setDescription("Descrição da tarefa número " + i + " usada nos benchmarks.");
+            task.setPriority(priorities[i % priorities.length]);
+            task.setStatus(statuses[i % statuses.length]);
+            task.setData(base.plusDays(i % 365));
+            task.setUser(owner);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
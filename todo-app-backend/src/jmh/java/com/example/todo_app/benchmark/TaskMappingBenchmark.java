@@ -0,0 +1,45 @@
+package com.example.todo_app.benchmark;
+
+import com.example.todo_app.models.Task;
+import com.example.todo_app.models.dtos.TaskResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do mapeamento {@link Task} para {@link TaskResponseDTO} feito pelo TaskController.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskMappingBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private List<Task> tasks;
+
+    @Setup
+    public void setup() {
+        tasks = TaskFixtures.tasks(size);
+    }
+
+    @Benchmark
+    public List<TaskResponseDTO> mapToResponse() {
+        return tasks.stream().map(TaskResponseDTO::from).toList();
+    }
+}
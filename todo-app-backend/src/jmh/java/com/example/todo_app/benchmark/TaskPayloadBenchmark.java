@@ -0,0 +1,86 @@
+package com.example.todo_app.benchmark;
+
+import com.example.todo_app.config.MessageConverterConfig;
+import com.example.todo_app.models.dtos.TaskResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Custo de CPU e bytes na rede de uma lista de tarefas em JSON, Smile e CBOR, com e sem gzip
+ * (o mesmo deflate que o Tomcat aplica com server.compression). Os bytes de cada combinação
+ * são impressos no fim de cada trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskPayloadBenchmark {
+
+    @Param({"10000"})
+    private int size;
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"none", "gzip"})
+    private String compression;
+
+    private ObjectWriter writer;
+    private List<TaskResponseDTO> tasks;
+    private ByteArrayOutputStream buffer;
+
+    @Setup
+    public void setup() {
+        ObjectMapper mapper = switch (format) {
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().factory(MessageConverterConfig.smileFactory()).build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().factory(new CBORFactory()).build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        writer = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, TaskResponseDTO.class));
+        tasks = TaskFixtures.tasks(size).stream().map(TaskResponseDTO::from).toList();
+        buffer = new ByteArrayOutputStream(4 * 1024 * 1024);
+    }
+
+    @Benchmark
+    public int serialize() throws IOException {
+        buffer.reset();
+        if ("gzip".equals(compression)) {
+            try (OutputStream gzip = new GZIPOutputStream(buffer, 8192)) {
+                writer.writeValue(gzip, tasks);
+            }
+        } else {
+            writer.writeValue(buffer, tasks);
+        }
+        return buffer.size();
+    }
+
+    @TearDown(Level.Trial)
+    public void reportBytes() throws IOException {
+        System.out.printf("%n[bytes] size=%d format=%s compression=%s -> %d bytes%n",
+                size, format, compression, serialize());
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.todo_app.benchmark;
+
+import com.example.todo_app.infra.security.TokenRevocationList;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo da verificação de revogação feita pelo TokenService em cada pedido autenticado,
+ * com {@code revoked} tokens e alguns utilizadores revogados na lista.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenRevocationBenchmark {
+
+    @Param({"0", "100000"})
+    private int revoked;
+
+    private TokenRevocationList revocationList;
+    private String validJti;
+    private String revokedJti;
+    private Instant issuedAt;
+
+    @Setup
+    public void setup() {
+        revocationList = new TokenRevocationList(new SimpleMeterRegistry(), 100_000);
+        Instant expiresAt = Instant.now().plus(2, ChronoUnit.HOURS);
+        for (int i = 0; i < revoked; i++) {
+            revokedJti = UUID.randomUUID().toString();
+            revocationList.revokeToken(revokedJti, expiresAt);
+        }
+        for (int i = 0; i < revoked / 1000; i++) {
+            revocationList.revokeAllForUser("user" + i, Instant.now(), expiresAt);
+        }
+        // O jti chega sempre como uma String nova, vinda do parse do JWT.
+        validJti = UUID.randomUUID().toString();
+        issuedAt = Instant.now().plusSeconds(5);
+    }
+
+    @Benchmark
+    public boolean validToken() {
+        return revocationList.isRevoked(new String(validJti), "benchmark", issuedAt);
+    }
+
+    @Benchmark
+    public boolean revokedToken() {
+        return revocationList.isRevoked(revokedJti == null ? new String(validJti) : new String(revokedJti), "benchmark", issuedAt);
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.todo_app.config;
 
+import com.example.todo_app.controller.TaskController;
+import com.example.todo_app.controller.UserController;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -11,8 +13,9 @@ public class CorsConfig implements WebMvcConfigurer {
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
                 .allowedOrigins("http://localhost:5173", "http://localhost:3000", "http://127.0.0.1:5173")
-                .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS", "HEAD")
+                .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS", "HEAD")
                 .allowedHeaders("*")
+                .exposedHeaders(TaskController.NEXT_CURSOR_HEADER, UserController.TOTAL_COUNT_HEADER, "ETag", "Content-Disposition")
                 .allowCredentials(true)
                 .maxAge(3600);
     }
@@ -2,6 +2,7 @@ package com.example.todo_app.controller;
 
 import com.example.todo_app.models.dtos.AuthenticatorDTO;
 import com.example.todo_app.models.dtos.LoginResponseDTO;
+import com.example.todo_app.models.dtos.RefreshTokenDTO;
 import com.example.todo_app.models.dtos.RegisterDTO;
 import com.example.todo_app.infra.security.TokenService;
 import com.example.todo_app.models.User;
@@ -9,6 +10,7 @@ import com.example.todo_app.repositories.UserRepository;
 import com.example.todo_app.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -30,9 +32,21 @@ public class AuthenticationController {
     @PostMapping("/login")
     public ResponseEntity<LoginResponseDTO> login(@Valid @RequestBody AuthenticatorDTO data)
     {
-        var token = userService.login(data);
+        return ResponseEntity.ok(userService.login(data));
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponseDTO> refresh(@Valid @RequestBody RefreshTokenDTO data)
+    {
+        return ResponseEntity.ok(userService.refresh(data.refreshToken()));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization)
+    {
+        userService.logout(authorization.replace("Bearer ", ""));
 
-        return ResponseEntity.ok(new LoginResponseDTO(token));
+        return ResponseEntity.noContent().build();
     }
 
     @PostMapping("/register")
@@ -1,17 +1,43 @@
 package com.example.todo_app.controller;
 
+import com.example.todo_app.infra.http.Representations;
+import com.example.todo_app.infra.security.UserPrincipal;
+import com.example.todo_app.infra.sse.TaskEventBroker;
 import com.example.todo_app.models.Task;
+import com.example.todo_app.models.dtos.BatchResultDTO;
+import com.example.todo_app.models.dtos.TaskBatchUpdateDTO;
+import com.example.todo_app.models.dtos.TaskChangesDTO;
 import com.example.todo_app.models.dtos.TaskCreateDTO;
+import com.example.todo_app.models.dtos.TaskFilterDTO;
+import com.example.todo_app.models.dtos.TaskImportResultDTO;
+import com.example.todo_app.models.dtos.TaskPageDTO;
 import com.example.todo_app.models.dtos.TaskResponseDTO;
+import com.example.todo_app.models.dtos.TaskSearchResultDTO;
+import com.example.todo_app.models.dtos.TaskSummaryDTO;
 import com.example.todo_app.models.dtos.TaskUpdateDTO;
+import com.example.todo_app.models.enums.Priority;
+import com.example.todo_app.models.enums.Status;
+import com.example.todo_app.models.enums.TransferFormat;
 import com.example.todo_app.service.TaskService;
+import com.example.todo_app.service.TaskTransferService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.nio.file.AccessDeniedException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -22,55 +48,169 @@ public class TaskController {
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private TaskEventBroker taskEventBroker;
+
+    @Autowired
+    private TaskTransferService taskTransferService;
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+
     @GetMapping
-    public ResponseEntity<List<TaskResponseDTO>> getAllTasks() {
-        var tasks = taskService.findTasksForUser();
-
-        List<TaskResponseDTO> responseDTOs = tasks.stream()
-                .map(task -> new TaskResponseDTO(
-                        task.getId(),
-                        task.getTitle(),
-                        task.getDescription(),
-                        task.getPriority(),
-                        task.getData(),
-                        task.getStatus()
-                ))
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(responseDTOs);
+    public ResponseEntity<List<TaskResponseDTO>> getAllTasks(
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) Priority priority,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest)
+    {
+        MediaType mediaType = Representations.negotiate(webRequest.getHeader(HttpHeaders.ACCEPT));
+        String etag = taskService.taskListETag(webRequest.getParameterMap().entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + String.join(",", entry.getValue()))
+                .sorted()
+                .collect(Collectors.joining("&")), mediaType);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+
+        var filter = new TaskFilterDTO(status, priority, dueFrom, dueTo);
+        TaskPageDTO page = taskService.findTaskPageForUser(filter, cursor, limit);
+
+        var response = ResponseEntity.ok()
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .contentType(mediaType)
+                .cacheControl(CacheControl.noCache().cachePrivate());
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+
+        return response.body(page.items());
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<TaskSummaryDTO> getSummary(WebRequest webRequest)
+    {
+        // O resumo depende também da data atual (atrasadas / para hoje).
+        MediaType mediaType = Representations.negotiate(webRequest.getHeader(HttpHeaders.ACCEPT));
+        String etag = taskService.taskListETag("summary@" + LocalDate.now(), mediaType);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .contentType(mediaType)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(taskService.summarizeTasks());
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<TaskSearchResultDTO>> searchTasks(@RequestParam("q") String query,
+                                                                 @RequestParam(required = false) Integer limit)
+    {
+        return ResponseEntity.ok(taskService.searchTasks(query, limit));
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChangesDTO> getChanges(@RequestParam(defaultValue = "0") long since)
+    {
+        return ResponseEntity.ok(taskService.findChangesSince(since));
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@AuthenticationPrincipal UserPrincipal user,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                                    @RequestParam(required = false) Long since)
+    {
+        if (lastEventId == null && since == null) {
+            // Cliente novo: o "sync" traz só a revisão atual e as tarefas vêm do GET /tasks paginado.
+            return taskEventBroker.subscribe(user.id(), taskService::currentRevisionOnly);
+        }
+        // As tarefas de um lote partilham a revisão: quem caiu a meio dele recebe o lote inteiro de novo.
+        // Um "sync" com hasMore para antes da revisão atual; o resto vem por GET /tasks/changes.
+        long syncFrom = lastEventId != null ? Math.max(lastEventId - 1, 0) : since;
+        return taskEventBroker.subscribe(user.id(), () -> taskService.findChangesSince(syncFrom));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(@AuthenticationPrincipal UserPrincipal user,
+                                                             @RequestParam(defaultValue = "ndjson") String format)
+    {
+        TransferFormat transferFormat = parseFormat(format);
+        StreamingResponseBody body = out -> taskTransferService.exportTasks(user.id(), transferFormat, out);
+
+        String extension = transferFormat == TransferFormat.CSV ? "csv" : "ndjson";
+        MediaType contentType = transferFormat == TransferFormat.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.parseMediaType(NDJSON_VALUE);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks." + extension + "\"")
+                .contentType(contentType)
+                .body(body);
+    }
+
+    @PostMapping(path = "/import", consumes = {NDJSON_VALUE, "text/csv"})
+    public ResponseEntity<TaskImportResultDTO> importTasks(@AuthenticationPrincipal UserPrincipal user,
+                                                           @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                           InputStream body)
+    {
+        TransferFormat format = contentType.isCompatibleWith(MediaType.valueOf("text/csv")) ? TransferFormat.CSV : TransferFormat.NDJSON;
+
+        return ResponseEntity.ok(taskTransferService.importTasks(user.id(), format, body));
     }
 
     @PostMapping
     public ResponseEntity<TaskResponseDTO> createTask(@RequestBody @Valid TaskCreateDTO task)
     {
         Task createdTask = taskService.createTask(task);
-        TaskResponseDTO responseDTO = new TaskResponseDTO(
-                createdTask.getId(), createdTask.getTitle(),
-                createdTask.getDescription(), createdTask.getPriority(),
-                createdTask.getData(), createdTask.getStatus()
-        );
+        TaskResponseDTO responseDTO = TaskResponseDTO.from(createdTask);
 
         return ResponseEntity.status(HttpStatus.CREATED).body(responseDTO);
     }
 
-    @PutMapping("/{taskId}")
-    public ResponseEntity<TaskResponseDTO> uptadeTask(@RequestBody @Valid TaskUpdateDTO task,@PathVariable Long taskId) throws AccessDeniedException {
-        Task updateTask = taskService.updateTask(task, taskId);
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDTO> createTasks(@RequestBody List<TaskCreateDTO> tasks)
+    {
+        return ResponseEntity.ok(taskService.createTasks(tasks));
+    }
+
+    @PatchMapping("/batch")
+    public ResponseEntity<BatchResultDTO> updateTasks(@RequestBody List<TaskBatchUpdateDTO> tasks)
+    {
+        return ResponseEntity.ok(taskService.updateTasks(tasks));
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<BatchResultDTO> deleteTasks(@RequestBody List<Long> taskIds)
+    {
+        return ResponseEntity.ok(taskService.deleteTasks(taskIds));
+    }
 
-        TaskResponseDTO responseDTO = new TaskResponseDTO(
-                updateTask.getId(), updateTask.getTitle(),
-                updateTask.getDescription(), updateTask.getPriority(),
-                updateTask.getData(), updateTask.getStatus()
-        );
+    @PutMapping("/{taskId}")
+    public ResponseEntity<TaskResponseDTO> uptadeTask(@RequestBody @Valid TaskUpdateDTO task,@PathVariable Long taskId) {
+        TaskResponseDTO responseDTO = taskService.updateTask(task, taskId);
 
         return ResponseEntity.status(HttpStatus.OK).body(responseDTO);
     }
 
     @DeleteMapping("/{taskId}")
-    public ResponseEntity<Void> deleteTask(@PathVariable Long taskId) throws AccessDeniedException {
+    public ResponseEntity<Void> deleteTask(@PathVariable Long taskId) {
         taskService.deleteTask(taskId);
 
         return ResponseEntity.noContent().build();
     }
 
+    private static TransferFormat parseFormat(String format)
+    {
+        try {
+            return TransferFormat.valueOf(format.strip().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Formato inválido: use ndjson ou csv.");
+        }
+    }
 }
@@ -1,19 +1,30 @@
 package com.example.todo_app.controller;
 
+import com.example.todo_app.infra.http.Representations;
 import com.example.todo_app.models.dtos.UserMeResponseDTO;
 import com.example.todo_app.models.dtos.UserResponseDTO;
 import com.example.todo_app.service.UserService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("users")
 public class UserController {
 
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
     private final UserService userService;
 
 
@@ -22,44 +33,68 @@ public class UserController {
         this.userService = userService;
     }
     @GetMapping("/me")
-    public ResponseEntity<UserMeResponseDTO> getMyProfile()
+    public ResponseEntity<UserMeResponseDTO> getMyProfile(WebRequest webRequest)
     {
+        MediaType mediaType = Representations.negotiate(webRequest.getHeader(HttpHeaders.ACCEPT));
+        // Compara com o principal em cache: um 304 não consulta o banco.
+        String cachedEtag = profileETag(userService.getCachedUserProfile(), mediaType);
+        if (webRequest.checkNotModified(cachedEtag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(cachedEtag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+
         UserMeResponseDTO userProfile = userService.getAuthenticatedUserProfile();
+        String etag = profileETag(userProfile, mediaType);
 
-        return  ResponseEntity.ok(userProfile);
+        return  ResponseEntity.ok()
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .contentType(mediaType)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(userProfile);
     }
 
     @GetMapping
-    public ResponseEntity<List<UserResponseDTO>> listarUsuarios()
+    public ResponseEntity<List<UserResponseDTO>> listarUsuarios(@RequestParam(required = false) String q,
+                                                                @PageableDefault(size = UserService.DEFAULT_PAGE_SIZE, sort = "id") Pageable pageable)
+    {
+        Page<UserResponseDTO> page = userService.findUserPage(q, pageable);
+
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(page.getTotalElements()))
+                .body(page.getContent());
+    }
+
+    @GetMapping(value = "/export", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportarUsuarios(@RequestParam(required = false) String q)
     {
-        var users = userService.findAll();
-
-        List<UserResponseDTO> responseDTOs = users.stream()
-                .map(user -> new UserResponseDTO(
-                        user.getId(),
-                        user.getUsername(),
-                        user.getEmail(),
-                        user.getRole()
-                ))
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(responseDTOs);
+        StreamingResponseBody body = out -> userService.exportUsersCsv(q, out);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.csv\"")
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(body);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<List<UserResponseDTO>> listarPorId(@PathVariable Long id)
     {
-        var userId = userService.findById(id);
-
-        List<UserResponseDTO> responseDTOS = userId.stream()
-                .map(user -> new UserResponseDTO(
-                        user.getId(),
-                        user.getUsername(),
-                        user.getEmail(),
-                        user.getRole()
-                ))
-                .collect(Collectors.toList());
+        List<UserResponseDTO> responseDTOS = userService.findUserById(id).stream().toList();
 
         return ResponseEntity.status(HttpStatus.OK).body(responseDTOS);
     }
+
+    @PostMapping("/{id}/revoke-tokens")
+    public ResponseEntity<Void> revogarTokens(@PathVariable Long id)
+    {
+        userService.revokeAllTokens(id);
+
+        return ResponseEntity.noContent().build();
+    }
+
+    private static String profileETag(UserMeResponseDTO profile, MediaType mediaType)
+    {
+        return Representations.eTag("u" + profile.id(),
+                String.join("\n", profile.username(), String.valueOf(profile.email()), profile.role()),
+                mediaType);
+    }
 }
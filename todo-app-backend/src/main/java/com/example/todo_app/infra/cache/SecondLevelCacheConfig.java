@@ -0,0 +1,88 @@
+package com.example.todo_app.infra.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Cache de segundo nível do Hibernate (JCache sobre Caffeine), desligado por omissão.
+ * Com {@code app.cache.enabled=true} ficam em cache os utilizadores (por id e por username),
+ * as tarefas por id, as consultas marcadas como cacheable e as páginas de {@code GET /tasks}.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String USERS_REGION = "users";
+    public static final String USERS_BY_USERNAME_REGION = "users-by-username";
+    public static final String TASKS_REGION = "tasks";
+    public static final String TASK_PAGES_CACHE = "task-pages";
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean
+    public CacheManager secondLevelCacheManager(@Value("${app.cache.users.max-size:10000}") long usersMaxSize,
+                                                @Value("${app.cache.users.ttl:10m}") Duration usersTtl,
+                                                @Value("${app.cache.tasks.max-size:100000}") long tasksMaxSize,
+                                                @Value("${app.cache.tasks.ttl:10m}") Duration tasksTtl,
+                                                @Value("${app.cache.queries.max-size:10000}") long queriesMaxSize,
+                                                @Value("${app.cache.queries.ttl:5m}") Duration queriesTtl,
+                                                @Value("${app.cache.task-pages.max-size:10000}") long taskPagesMaxSize,
+                                                @Value("${app.cache.task-pages.ttl:5m}") Duration taskPagesTtl)
+    {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+
+        createCache(cacheManager, USERS_REGION, bounded(usersMaxSize, usersTtl));
+        createCache(cacheManager, USERS_BY_USERNAME_REGION, bounded(usersMaxSize, usersTtl));
+        createCache(cacheManager, TASKS_REGION, bounded(tasksMaxSize, tasksTtl));
+        createCache(cacheManager, QUERY_RESULTS_REGION, bounded(queriesMaxSize, queriesTtl));
+        createCache(cacheManager, TASK_PAGES_CACHE, bounded(taskPagesMaxSize, taskPagesTtl));
+        // Os timestamps invalidam o cache de consultas: não podem expirar nem ser despejados antes delas.
+        createCache(cacheManager, UPDATE_TIMESTAMPS_REGION, new CaffeineConfiguration<>().setStoreByValue(false));
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager,
+                                                                    @Value("${app.cache.enabled:false}") boolean enabled)
+    {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, enabled);
+            if (enabled) {
+                properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+                properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+                properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.CREATE_WARN.getExternalRepresentation());
+            }
+        };
+    }
+
+    private static void createCache(CacheManager cacheManager, String name, CaffeineConfiguration<Object, Object> configuration)
+    {
+        // O provider reaproveita o CacheManager por classloader (ex.: contextos de teste em sequência).
+        if (cacheManager.getCache(name) == null) {
+            cacheManager.createCache(name, configuration);
+        }
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(long maxSize, Duration ttl)
+    {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        // Guarda a referência: o Hibernate já guarda o estado desmontado e as páginas são imutáveis.
+        configuration.setStoreByValue(false);
+        return configuration;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.todo_app.infra.cache;
+
+import com.example.todo_app.models.dtos.TaskPageDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Páginas de {@code GET /tasks} por utilizador. A chave inclui a versão de tarefas do utilizador
+ * (task_versions), por isso qualquer escrita dele torna as páginas antigas inalcançáveis sem
+ * invalidar as dos outros, ao contrário do cache de consultas do Hibernate, que é limpo a cada
+ * escrita na tabela inteira.
+ */
+@Component
+public class TaskPageCache {
+
+    private final Cache<String, TaskPageDTO> cache;
+    private final Counter hits;
+    private final Counter misses;
+
+    public TaskPageCache(CacheManager secondLevelCacheManager,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.cache.enabled:false}") boolean enabled)
+    {
+        this.cache = enabled ? secondLevelCacheManager.getCache(SecondLevelCacheConfig.TASK_PAGES_CACHE) : null;
+        this.hits = gets(meterRegistry, "hit");
+        this.misses = gets(meterRegistry, "miss");
+    }
+
+    public boolean isEnabled()
+    {
+        return cache != null;
+    }
+
+    public TaskPageDTO get(Long userId, long version, String variant, Supplier<TaskPageDTO> loader)
+    {
+        if (cache == null) {
+            return loader.get();
+        }
+        String key = userId + ":" + version + ":" + variant;
+        TaskPageDTO page = cache.get(key);
+        if (page != null) {
+            hits.increment();
+            return page;
+        }
+        misses.increment();
+
+        TaskPageDTO loaded = loader.get();
+        page = new TaskPageDTO(List.copyOf(loaded.items()), loaded.nextCursor());
+        cache.put(key, page);
+        return page;
+    }
+
+    private static Counter gets(MeterRegistry meterRegistry, String result)
+    {
+        return Counter.builder("cache.gets")
+                .tag("cache", SecondLevelCacheConfig.TASK_PAGES_CACHE)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.todo_app.infra.datasource;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lembra quais utilizadores escreveram há pouco. Durante a janela configurada as leituras
+ * deles vão ao primário, para que não vejam uma réplica atrasada em relação à própria escrita.
+ */
+public class ReadYourWritesTracker {
+
+    private static final int MAX_ENTRIES = 100_000;
+
+    private final ConcurrentHashMap<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final long windowNanos;
+
+    public ReadYourWritesTracker(Duration window)
+    {
+        this.windowNanos = window.toNanos();
+    }
+
+    public void recordWrite(String username)
+    {
+        if (username == null || windowNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (lastWrites.size() >= MAX_ENTRIES && !lastWrites.containsKey(username)) {
+            evict(now);
+        }
+        lastWrites.put(username, now + windowNanos);
+    }
+
+    public boolean wroteRecently(String username)
+    {
+        if (username == null) {
+            return false;
+        }
+        Long expiresAt = lastWrites.get(username);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - expiresAt >= 0) {
+            lastWrites.remove(username, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    private void evict(long now)
+    {
+        lastWrites.values().removeIf(expiresAt -> now - expiresAt >= 0);
+
+        // Ainda cheio: descarta os mais antigos na ordem do mapa. O pior caso é uma leitura numa réplica.
+        Iterator<Map.Entry<String, Long>> iterator = lastWrites.entrySet().iterator();
+        while (lastWrites.size() >= MAX_ENTRIES && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.todo_app.infra.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Tira da rotação réplicas inacessíveis ou atrasadas além de {@code max-lag} e devolve-as
+ * quando recuperam. O atraso vem de {@code SHOW REPLICA STATUS} (MySQL 8.0.22+).
+ */
+@Component
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class ReplicaHealthChecker {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaHealthChecker.class);
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final long maxLagSeconds;
+
+    public ReplicaHealthChecker(ReplicaRoutingDataSource routingDataSource,
+                                @Value("${app.datasource.routing.max-lag:5s}") Duration maxLag)
+    {
+        this.routingDataSource = routingDataSource;
+        this.maxLagSeconds = maxLag.toSeconds();
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.health-check-interval-ms:5000}")
+    public void check()
+    {
+        for (int i = 0; i < routingDataSource.replicaCount(); i++) {
+            boolean healthy = isHealthy(i);
+            routingDataSource.markHealthy(i, healthy);
+        }
+    }
+
+    private boolean isHealthy(int index)
+    {
+        try (Connection connection = routingDataSource.replica(index).getConnection();
+             Statement statement = connection.createStatement()) {
+            if (maxLagSeconds <= 0) {
+                return connection.isValid(2);
+            }
+            try (ResultSet status = statement.executeQuery("SHOW REPLICA STATUS")) {
+                if (!status.next()) {
+                    // Não está a replicar (ex.: instância local apontada para o mesmo banco).
+                    return true;
+                }
+                long lag = status.getLong("Seconds_Behind_Source");
+                if (status.wasNull() || lag > maxLagSeconds) {
+                    log.warn("Réplica {} fora da rotação: atraso {}s", index, status.wasNull() ? "desconhecido" : lag);
+                    return false;
+                }
+                return true;
+            }
+        } catch (SQLException e) {
+            log.warn("Réplica {} fora da rotação: {}", index, e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.todo_app.infra.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Envia transações {@code readOnly} para uma réplica saudável e todo o resto para o primário.
+ * Tem de ficar atrás de um {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * só assim a conexão é pedida depois de o Spring marcar a transação como somente leitura.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private final List<String> replicaKeys;
+    private final AtomicIntegerArray healthy;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final ReadYourWritesTracker readYourWrites;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    private final Counter fallbacks;
+
+    @FunctionalInterface
+    private interface ConnectionFactory
+    {
+        Connection connect(DataSource target) throws SQLException;
+    }
+
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    List<DataSource> replicas,
+                                    ReadYourWritesTracker readYourWrites,
+                                    MeterRegistry meterRegistry)
+    {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        this.replicaKeys = new ArrayList<>(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + i;
+            replicaKeys.add(key);
+            targets.put(key, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+
+        this.healthy = new AtomicIntegerArray(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            healthy.set(i, 1);
+        }
+        this.readYourWrites = readYourWrites;
+        this.primaryConnections = connections(meterRegistry, PRIMARY);
+        this.replicaConnections = connections(meterRegistry, "replica");
+        this.fallbacks = Counter.builder("datasource.routing.fallbacks")
+                .description("Leituras desviadas para o primário por falha da réplica")
+                .register(meterRegistry);
+        meterRegistry.gauge("datasource.routing.healthy.replicas", healthy, ReplicaRoutingDataSource::countHealthy);
+    }
+
+    public int replicaCount()
+    {
+        return replicaKeys.size();
+    }
+
+    public DataSource replica(int index)
+    {
+        return getResolvedDataSources().get(replicaKeys.get(index));
+    }
+
+    public void markHealthy(int index, boolean isHealthy)
+    {
+        healthy.set(index, isHealthy ? 1 : 0);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException
+    {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException
+    {
+        return route(target -> target.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionFactory factory) throws SQLException
+    {
+        Object key = determineCurrentLookupKey();
+        DataSource target = getResolvedDataSources().get(key);
+        if (PRIMARY.equals(key)) {
+            primaryConnections.increment();
+            return factory.connect(target);
+        }
+        try {
+            Connection connection = factory.connect(target);
+            replicaConnections.increment();
+            return connection;
+        } catch (SQLException e) {
+            // Réplica fora do ar: sai da rotação até o próximo health check e a leitura segue no primário.
+            markHealthy(replicaKeys.indexOf(key), false);
+            fallbacks.increment();
+            primaryConnections.increment();
+            return factory.connect(getResolvedDataSources().get(PRIMARY));
+        }
+    }
+
+    @Override
+    public void close() throws Exception
+    {
+        for (String key : replicaKeys) {
+            if (getResolvedDataSources().get(key) instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey()
+    {
+        String username = currentUsername();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWrite(username);
+            return PRIMARY;
+        }
+        if (readYourWrites.wroteRecently(username)) {
+            return PRIMARY;
+        }
+        return chooseReplica(username);
+    }
+
+    private Object chooseReplica(String username)
+    {
+        int count = replicaKeys.size();
+        if (count == 0) {
+            return PRIMARY;
+        }
+        // O mesmo utilizador fica na mesma réplica, para que ETag e dados venham do mesmo ponto da replicação.
+        int start = username != null
+                ? Math.floorMod(username.hashCode(), count)
+                : Math.floorMod(nextReplica.getAndIncrement(), count);
+        for (int i = 0; i < count; i++) {
+            int index = (start + i) % count;
+            if (healthy.get(index) == 1) {
+                return replicaKeys.get(index);
+            }
+        }
+        return PRIMARY;
+    }
+
+    private void rememberWrite(String username)
+    {
+        if (username == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                readYourWrites.recordWrite(username);
+            }
+        });
+    }
+
+    private static String currentUsername()
+    {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+
+    private static Counter connections(MeterRegistry meterRegistry, String target)
+    {
+        return Counter.builder("datasource.routing.connections")
+                .description("Conexões obtidas pelo roteamento primário/réplica")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    private static double countHealthy(AtomicIntegerArray healthy)
+    {
+        int count = 0;
+        for (int i = 0; i < healthy.length(); i++) {
+            count += healthy.get(i);
+        }
+        return count;
+    }
+}
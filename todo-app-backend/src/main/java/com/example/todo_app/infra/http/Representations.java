@@ -0,0 +1,73 @@
+package com.example.todo_app.infra.http;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Formato escolhido pelo cabeçalho Accept e ETags que o incluem: o mesmo URL pode devolver JSON,
+ * Smile ou CBOR, e um If-None-Match de um formato não pode validar a resposta noutro. Quem usa
+ * {@link #negotiate} fixa o Content-Type da resposta com o resultado, para o ETag e o corpo
+ * nunca divergirem.
+ */
+public final class Representations {
+
+    public static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+    public static final MediaType CBOR = MediaType.valueOf("application/cbor");
+
+    // Na ordem dos conversores: JSON ganha quando o cliente aceita vários com a mesma qualidade.
+    private static final List<MediaType> PRODUCIBLE = List.of(MediaType.APPLICATION_JSON, SMILE, CBOR);
+
+    private Representations() {
+    }
+
+    public static MediaType negotiate(String accept)
+    {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType mediaType : accepted) {
+            if (mediaType.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType producible : PRODUCIBLE) {
+                if (mediaType.includes(producible)) {
+                    return producible;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    /**
+     * ETag forte com {@code prefix}, um resumo SHA-256 de {@code content} e o formato da resposta.
+     */
+    public static String eTag(String prefix, String content, MediaType mediaType)
+    {
+        return "\"" + prefix + "." + digest(content) + "." + mediaType.getSubtype() + "\"";
+    }
+
+    private static String digest(String content)
+    {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 22);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.todo_app.infra.metrics;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Associa o contador da requisição à thread do pool assíncrono que executa o trabalho
+ * (exportações com {@code StreamingResponseBody}); pre e postProcess correm nessa thread.
+ */
+class StatementCountingCallableInterceptor implements CallableProcessingInterceptor {
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        if (request.getAttribute(StatementCountFilter.COUNTER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof AtomicInteger counter) {
+            StatementCountingInspector.bind(counter);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        StatementCountingInspector.restore(null);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.todo_app.infra.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Conta os statements SQL preparados pelo Hibernate no contador da requisição associado à thread,
+ * para que o {@link StatementCountFilter} registe quantas consultas cada requisição executou.
+ * O contador acompanha a requisição para outras threads: o processamento assíncrono do Spring MVC
+ * ({@code StreamingResponseBody}, via {@link StatementCountingCallableInterceptor}) e os pools que
+ * usam {@link #propagate}.
+ */
+public class StatementCountingInspector implements StatementInspector {
+
+    private static final ThreadLocal<AtomicInteger> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        AtomicInteger counter = CURRENT.get();
+        if (counter != null) {
+            counter.incrementAndGet();
+        }
+        return sql;
+    }
+
+    /**
+     * Executa {@code work} noutra thread contando os statements na requisição que o submeteu.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> work) {
+        AtomicInteger counter = CURRENT.get();
+        if (counter == null) {
+            return work;
+        }
+        return () -> {
+            AtomicInteger previous = bind(counter);
+            try {
+                return work.get();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    static AtomicInteger bind(AtomicInteger counter) {
+        AtomicInteger previous = CURRENT.get();
+        CURRENT.set(counter);
+        return previous;
+    }
+
+    static void restore(AtomicInteger previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
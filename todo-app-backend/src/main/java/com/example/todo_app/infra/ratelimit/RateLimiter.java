@@ -0,0 +1,86 @@
+package com.example.todo_app.infra.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket por chave, sem locks. Cada bucket guarda só um long: o instante teórico em que
+ * estaria de novo cheio (forma GCRA do token bucket), atualizado por compare-and-set.
+ * Buckets cheios equivalem a buckets inexistentes e podem ser descartados a qualquer momento.
+ */
+public class RateLimiter {
+
+    private static final String OVERFLOW_KEY = "\u0000overflow";
+
+    private final String name;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final int maxKeys;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public RateLimiter(String name, int capacity, Duration period, int maxKeys)
+    {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacidade do limite " + name + " deve ser positiva");
+        }
+        this.name = name;
+        this.intervalNanos = period.toNanos() / capacity;
+        this.burstNanos = intervalNanos * capacity;
+        this.maxKeys = maxKeys;
+    }
+
+    public String name()
+    {
+        return name;
+    }
+
+    /**
+     * Consome um token da chave. Devolve 0 se permitido, ou quantos nanos faltam para o próximo token.
+     */
+    public long tryAcquire(String key)
+    {
+        AtomicLong bucket = bucket(key);
+        while (true) {
+            long now = System.nanoTime();
+            long full = bucket.get();
+            long start = full - now > 0 ? full : now;
+            long next = start + intervalNanos;
+            long wait = next - burstNanos - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(full, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public void evictIdle()
+    {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    public int size()
+    {
+        return buckets.size();
+    }
+
+    private AtomicLong bucket(String key)
+    {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxKeys) {
+            evictIdle();
+            if (buckets.size() >= maxKeys) {
+                // Memória limitada: chaves novas além do teto partilham um único bucket.
+                key = OVERFLOW_KEY;
+            }
+        }
+        // Um bucket novo nasce cheio: o instante "cheio" é agora.
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(System.nanoTime()));
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.todo_app.infra.reminder;
+
+import com.example.todo_app.models.dtos.TaskReminderDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Sink local para desenvolvimento e testes: escreve cada lembrete no log ou, com
+ * {@code app.reminders.sink.file}, acrescenta uma linha por lembrete ao arquivo.
+ */
+public class LogReminderSink implements ReminderSink {
+
+    private static final Logger log = LoggerFactory.getLogger(LogReminderSink.class);
+
+    private final Path file;
+
+    public LogReminderSink(Path file)
+    {
+        this.file = file;
+    }
+
+    @Override
+    public void send(List<TaskReminderDTO> reminders) throws IOException
+    {
+        if (file == null) {
+            reminders.forEach(reminder -> log.info("Lembrete: tarefa {} do utilizador {} ({}) vence em {}",
+                    reminder.taskId(), reminder.userId(), reminder.title(), reminder.dueAt()));
+            return;
+        }
+        synchronized (this) {
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE)) {
+                for (TaskReminderDTO reminder : reminders) {
+                    writer.write(reminder.dueAt() + "\t" + reminder.userId() + "\t" + reminder.taskId() + "\t" + reminder.title() + "\n");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.todo_app.infra.reminder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+public class ReminderConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(ReminderSink.class)
+    public ReminderSink logReminderSink(@Value("${app.reminders.sink.file:}") String file)
+    {
+        return new LogReminderSink(file.isBlank() ? null : Path.of(file));
+    }
+}
@@ -0,0 +1,445 @@
+package com.example.todo_app.infra.reminder;
+
+import com.example.todo_app.infra.sharding.ShardRouter;
+import com.example.todo_app.models.dtos.TaskReminderDTO;
+import com.example.todo_app.models.enums.Status;
+import com.example.todo_app.models.enums.TaskChangeType;
+import com.example.todo_app.repositories.ReminderLogRepository;
+import com.example.todo_app.repositories.TaskDueRow;
+import com.example.todo_app.repositories.TaskRepository;
+import com.example.todo_app.service.TaskChangedEvent;
+import com.example.todo_app.service.TasksBulkChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Dispara lembretes de vencimento de tarefas.
+ * <p>
+ * Só a janela próxima fica em memória: a cada tick a varredura continua pelo índice (data, status)
+ * a partir de um cursor até {@code window} à frente ou até {@code max-pending} lembretes, e eles
+ * entram numa {@link TimerWheel}. No disparo a tarefa é relida: apagada, concluída ou com a data
+ * alterada é descartada. Cada (tarefa, data) é reservado no reminder_log antes de ir para o
+ * {@link ReminderSink}, por isso um restart (que retoma {@code catch-up} para trás) ou várias
+ * instâncias não repetem lembretes. Se a reserva ou o envio falharem (a reserva é então desfeita)
+ * o lote volta a disparar após {@code retry-delay}, enquanto estiver dentro de {@code catch-up}.
+ * <p>
+ * Com sharding cada shard tem o seu cursor e o seu reminder_log; no disparo a tarefa é procurada
+ * em todos, porque o resharding pode tê-la mudado de shard depois do agendamento.
+ */
+@Component
+@ConditionalOnProperty(name = "app.reminders.enabled", havingValue = "true", matchIfMissing = true)
+public class ReminderScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ReminderScheduler.class);
+    private static final int WHEEL_SIZE = 64;
+    private static final int INBOX_CAPACITY = 10_000;
+    private static final Duration PURGE_INTERVAL = Duration.ofHours(1);
+
+    private record ChangedDueDate(long userId, long taskId, LocalDateTime dueAt) {}
+
+    private record Retry(long taskId, long remindAt, long retryAt) {}
+
+    /** Resultado da reserva num shard; {@code found} são as tarefas que estavam nele. */
+    private record ShardClaim(List<TaskReminderDTO> reserved, List<Long> found, int skipped, int duplicates) {}
+
+    /** Posição da varredura num shard. */
+    private static final class ShardScan
+    {
+        private final String shard;
+        private LocalDateTime cursorData;
+        private String cursorStatus;
+        private long cursorId;
+        private LocalDateTime loadedUntil;
+
+        private ShardScan(String shard, LocalDateTime start)
+        {
+            this.shard = shard;
+            this.cursorData = start;
+            this.cursorStatus = "";
+            this.cursorId = 0;
+            this.loadedUntil = start;
+        }
+    }
+
+    private final TaskRepository taskRepository;
+    private final ReminderLogRepository reminderLogRepository;
+    private final ReminderSink sink;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private final long tickMillis;
+    private final Duration window;
+    private final Duration leadTime;
+    private final Duration catchUp;
+    private final Duration retention;
+    private final Duration retryDelay;
+    private final int maxPending;
+    private final int batchSize;
+
+    private final ScheduledExecutorService executor;
+    private final BlockingQueue<ChangedDueDate> inbox = new ArrayBlockingQueue<>(INBOX_CAPACITY);
+    private final AtomicBoolean resetRequested = new AtomicBoolean();
+    private volatile long pending;
+
+    private final Counter sent;
+    private final Counter skipped;
+    private final Counter duplicates;
+    private final Counter failed;
+    private final Counter retried;
+
+    // Estado da thread "reminders".
+    private TimerWheel wheel;
+    private final ArrayDeque<Retry> retries = new ArrayDeque<>();
+    private final Map<String, ShardScan> scans = new LinkedHashMap<>();
+    private long lastPurgeMillis;
+
+    public ReminderScheduler(TaskRepository taskRepository,
+                             ReminderLogRepository reminderLogRepository,
+                             ReminderSink sink,
+                             ShardRouter shardRouter,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.reminders.tick:1s}") Duration tick,
+                             @Value("${app.reminders.window:1h}") Duration window,
+                             @Value("${app.reminders.lead-time:0s}") Duration leadTime,
+                             @Value("${app.reminders.catch-up:1h}") Duration catchUp,
+                             @Value("${app.reminders.retention:7d}") Duration retention,
+                             @Value("${app.reminders.retry-delay:30s}") Duration retryDelay,
+                             @Value("${app.reminders.max-pending:200000}") int maxPending,
+                             @Value("${app.reminders.batch-size:500}") int batchSize)
+    {
+        if (retention.compareTo(catchUp.plus(leadTime)) <= 0) {
+            throw new IllegalArgumentException("app.reminders.retention deve ser maior que catch-up + lead-time");
+        }
+        this.taskRepository = taskRepository;
+        this.reminderLogRepository = reminderLogRepository;
+        this.sink = sink;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.tickMillis = tick.toMillis();
+        this.window = window;
+        this.leadTime = leadTime;
+        this.catchUp = catchUp;
+        this.retention = retention;
+        this.retryDelay = retryDelay;
+        this.maxPending = maxPending;
+        this.batchSize = batchSize;
+
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reminders");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        meterRegistry.gauge("reminders.pending", this, scheduler -> scheduler.pending);
+        this.sent = dispatches(meterRegistry, "sent");
+        this.skipped = dispatches(meterRegistry, "skipped");
+        this.duplicates = dispatches(meterRegistry, "duplicate");
+        this.failed = dispatches(meterRegistry, "failed");
+        this.retried = dispatches(meterRegistry, "retried");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start()
+    {
+        executor.execute(() -> reset(System.currentTimeMillis()));
+        executor.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop()
+    {
+        executor.shutdownNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event)
+    {
+        if (event.type() == TaskChangeType.DELETED || event.task() == null
+                || event.task().data() == null || event.task().status() == Status.Feito) {
+            return;
+        }
+        // Mesma data de antes: o lembrete já está na roda ou a varredura ainda chega lá.
+        if (event.task().data().equals(event.previousDueAt())) {
+            return;
+        }
+        // Fila cheia: mais simples reler a janela do que perder uma alteração.
+        if (!inbox.offer(new ChangedDueDate(event.userId(), event.taskId(), event.task().data()))) {
+            resetRequested.set(true);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksBulkChanged(TasksBulkChangedEvent event)
+    {
+        // Uma importação pode trazer datas dentro da janela já carregada.
+        resetRequested.set(true);
+    }
+
+    private void tick()
+    {
+        tick(System.currentTimeMillis());
+    }
+
+    // Visível para testes, que controlam o relógio.
+    void tick(long now)
+    {
+        try {
+            if (wheel == null || resetRequested.getAndSet(false)) {
+                inbox.clear();
+                reset(now);
+            }
+
+            List<long[]> due = new ArrayList<>();
+            drainInbox(now, due);
+            while (!retries.isEmpty() && retries.peek().retryAt() <= now) {
+                Retry retry = retries.poll();
+                due.add(new long[]{retry.taskId(), retry.remindAt()});
+            }
+            wheel.advanceTo(now, (taskId, dueMillis) -> due.add(new long[]{taskId, dueMillis}));
+            try {
+                refill(now, due);
+            } catch (RuntimeException e) {
+                // Os vencidos já saíram da roda e são disparados na mesma; a varredura retoma do cursor.
+                log.warn("Falha ao carregar lembretes", e);
+            }
+            pending = wheel.size() + retries.size();
+
+            for (int from = 0; from < due.size(); from += batchSize) {
+                dispatch(due.subList(from, Math.min(from + batchSize, due.size())), now);
+            }
+
+            if (now - lastPurgeMillis >= PURGE_INTERVAL.toMillis()) {
+                lastPurgeMillis = now;
+                LocalDateTime before = LocalDateTime.now().minus(retention);
+                for (String shard : shardRouter.shards()) {
+                    shardRouter.runOn(shard, () ->
+                            transactionTemplate.executeWithoutResult(status -> reminderLogRepository.deleteDueBefore(before)));
+                }
+            }
+        } catch (RuntimeException e) {
+            // O próximo tick tenta de novo a partir do mesmo cursor.
+            log.warn("Falha no ciclo de lembretes", e);
+        }
+    }
+
+    private void reset(long now)
+    {
+        wheel = new TimerWheel(tickMillis, WHEEL_SIZE, now);
+        LocalDateTime start = toLocal(now).minus(catchUp).plus(leadTime);
+        scans.clear();
+        for (String shard : shardRouter.shards()) {
+            scans.put(shard, new ShardScan(shard, start));
+        }
+        // Reservas desfeitas não estão no reminder_log, então a varredura volta a encontrá-las.
+        retries.clear();
+        pending = 0;
+    }
+
+    private void drainInbox(long now, List<long[]> due)
+    {
+        ChangedDueDate changed;
+        while ((changed = inbox.poll()) != null) {
+            if (wheel.size() + due.size() >= maxPending) {
+                // Roda cheia: a varredura relê a janela dentro do limite no próximo tick.
+                resetRequested.set(true);
+                return;
+            }
+            // Datas além do cursor ainda vão ser lidas pela varredura; as anteriores só entram por aqui.
+            ShardScan scan = scans.get(shardRouter.shardFor(changed.userId()));
+            if (changed.dueAt().isAfter(scan.loadedUntil) && changed.dueAt().isAfter(scan.cursorData)) {
+                continue;
+            }
+            long remindAt = toMillis(changed.dueAt().minus(leadTime));
+            if (remindAt < now - catchUp.toMillis()) {
+                continue;
+            }
+            if (!wheel.schedule(changed.taskId(), remindAt)) {
+                due.add(new long[]{changed.taskId(), remindAt});
+            }
+        }
+    }
+
+    private void refill(long now, List<long[]> due)
+    {
+        LocalDateTime dueBefore = toLocal(now).plus(leadTime).plus(window);
+        int remainingShards = scans.size();
+
+        for (ShardScan scan : scans.values()) {
+            // Cada shard fica com uma parte igual do espaço livre, para nenhum atrasar os outros.
+            long budget = (maxPending - wheel.size() - due.size()) / remainingShards--;
+            int pageSize = Math.min(batchSize * 10, maxPending);
+            long loaded = 0;
+
+            while (loaded < budget && scan.cursorData.isBefore(dueBefore)) {
+                List<TaskDueRow> rows = shardRouter.callOn(scan.shard, () -> readOnlyTransactionTemplate.execute(status ->
+                        taskRepository.findDueAfter(scan.cursorData, scan.cursorStatus, scan.cursorId, dueBefore, pageSize)));
+                for (TaskDueRow row : rows) {
+                    long remindAt = toMillis(row.getData().minus(leadTime));
+                    if (!wheel.schedule(row.getId(), remindAt)) {
+                        due.add(new long[]{row.getId(), remindAt});
+                    }
+                }
+                loaded += rows.size();
+                if (!rows.isEmpty()) {
+                    TaskDueRow last = rows.get(rows.size() - 1);
+                    scan.cursorData = last.getData();
+                    scan.cursorStatus = last.getStatus();
+                    scan.cursorId = last.getId();
+                }
+                if (rows.size() < pageSize) {
+                    // Tudo antes de dueBefore já está na roda; o cursor continua na última linha lida.
+                    scan.loadedUntil = dueBefore;
+                    break;
+                }
+            }
+        }
+    }
+
+    private void dispatch(List<long[]> batch, long now)
+    {
+        LocalDateTime firedAt = LocalDateTime.now();
+        Map<String, List<TaskReminderDTO>> claimedByShard = new LinkedHashMap<>();
+        Map<Long, List<long[]>> remaining = new HashMap<>();
+        batch.forEach(entry -> remaining.computeIfAbsent(entry[0], taskId -> new ArrayList<>(1)).add(entry));
+
+        for (String shard : shardRouter.shards()) {
+            if (remaining.isEmpty()) {
+                break;
+            }
+            ShardClaim claim;
+            try {
+                // Relê as tarefas no primário do shard e reserva na mesma transação.
+                claim = shardRouter.callOn(shard, () -> transactionTemplate.execute(status -> claim(remaining, firedAt)));
+            } catch (RuntimeException e) {
+                // Rollback: nada ficou reservado neste shard. As entradas já saíram da roda, então as que
+                // faltam voltam pela fila de reenvio; as reservadas nos shards anteriores seguem para o envio.
+                log.warn("Falha ao reservar lembretes no shard {}", shard, e);
+                remaining.values().forEach(entries -> entries.forEach(entry -> retry(entry[0], entry[1], now)));
+                remaining.clear();
+                break;
+            }
+            claimedByShard.put(shard, claim.reserved());
+            claim.found().forEach(remaining::remove);
+            skipped.increment(claim.skipped());
+            duplicates.increment(claim.duplicates());
+        }
+        // Não encontradas em nenhum shard: apagadas.
+        remaining.values().forEach(entries -> skipped.increment(entries.size()));
+        List<TaskReminderDTO> claimed = claimedByShard.values().stream().flatMap(List::stream).toList();
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        try {
+            sink.send(claimed);
+            sent.increment(claimed.size());
+        } catch (Exception e) {
+            failed.increment(claimed.size());
+            log.warn("Falha ao entregar {} lembretes", claimed.size(), e);
+            release(claimedByShard, now);
+        }
+    }
+
+    // Não altera remaining: se a transação falhar, as entradas continuam lá para o reenvio.
+    private ShardClaim claim(Map<Long, List<long[]>> remaining, LocalDateTime firedAt)
+    {
+        List<TaskReminderDTO> tasks = taskRepository.findRemindersByIdIn(List.copyOf(remaining.keySet()));
+        List<TaskReminderDTO> reserved = new ArrayList<>(tasks.size());
+        List<Long> found = new ArrayList<>(tasks.size());
+        int skippedEntries = 0;
+        int duplicateEntries = 0;
+        for (TaskReminderDTO task : tasks) {
+            found.add(task.taskId());
+            for (long[] entry : remaining.get(task.taskId())) {
+                // Concluída ou com a data alterada desde o agendamento.
+                if (task.dueAt() == null || task.status() == Status.Feito
+                        || toMillis(task.dueAt().minus(leadTime)) != entry[1]) {
+                    skippedEntries++;
+                } else if (reminderLogRepository.claim(task.taskId(), task.dueAt(), firedAt) == 1) {
+                    reserved.add(task);
+                } else {
+                    duplicateEntries++;
+                }
+            }
+        }
+        return new ShardClaim(reserved, found, skippedEntries, duplicateEntries);
+    }
+
+    private void release(Map<String, List<TaskReminderDTO>> claimedByShard, long now)
+    {
+        claimedByShard.forEach((shard, reminders) -> {
+            if (reminders.isEmpty()) {
+                return;
+            }
+            try {
+                shardRouter.runOn(shard, () -> transactionTemplate.executeWithoutResult(status ->
+                        reminders.forEach(task -> reminderLogRepository.release(task.taskId(), task.dueAt()))));
+            } catch (RuntimeException e) {
+                // A reserva ficou: estes lembretes não voltam a disparar.
+                log.warn("Falha ao desfazer a reserva de {} lembretes no shard {}", reminders.size(), shard, e);
+                return;
+            }
+            reminders.forEach(task -> retry(task.taskId(), toMillis(task.dueAt().minus(leadTime)), now));
+        });
+    }
+
+    private void retry(long taskId, long remindAt, long now)
+    {
+        // Fora do catch-up nem um restart o reenviaria; com a fila cheia fica para o restart.
+        if (remindAt >= now - catchUp.toMillis() && wheel.size() + retries.size() < maxPending) {
+            retries.add(new Retry(taskId, remindAt, now + retryDelay.toMillis()));
+            retried.increment();
+        }
+    }
+
+    private long toMillis(LocalDateTime dateTime)
+    {
+        return dateTime.atZone(zone).toInstant().toEpochMilli();
+    }
+
+    private LocalDateTime toLocal(long millis)
+    {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), zone);
+    }
+
+    private static Counter dispatches(MeterRegistry meterRegistry, String outcome)
+    {
+        return Counter.builder("reminders.dispatched")
+                .description("Lembretes processados pelo ReminderScheduler")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.todo_app.infra.reminder;
+
+import com.example.todo_app.models.dtos.TaskReminderDTO;
+
+import java.util.List;
+
+/**
+ * Destino dos lembretes disparados (e-mail, push, fila...). Quando chegam aqui os lembretes já estão
+ * reservados no reminder_log; se {@link #send} lançar, a reserva do lote inteiro é desfeita e ele é
+ * reenviado mais tarde, então uma entrega parcial pode repetir lembretes.
+ * Declare um bean desta interface para substituir o {@link LogReminderSink}.
+ */
+public interface ReminderSink {
+
+    void send(List<TaskReminderDTO> reminders) throws Exception;
+}
@@ -0,0 +1,169 @@
+package com.example.todo_app.infra.reminder;
+
+import java.util.Arrays;
+
+/**
+ * Roda de temporização hierárquica (como a do Kafka): cada nível tem {@code wheelSize} posições
+ * e cada posição de um nível cobre uma volta inteira do nível abaixo. Agendar e avançar custam O(1)
+ * por entrada; as entradas de um nível superior descem de nível quando a sua posição chega.
+ * As entradas são pares (id, instante) guardados em arrays de long, sem um objeto por lembrete.
+ * Não é thread-safe: usada só pela thread do {@link ReminderScheduler}.
+ */
+class TimerWheel {
+
+    @FunctionalInterface
+    interface ExpiredHandler {
+        void expired(long id, long dueMillis);
+    }
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private Level root;
+    private long size;
+
+    TimerWheel(long tickMillis, int wheelSize, long startMillis)
+    {
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.root = new Level(tickMillis, startMillis);
+    }
+
+    /**
+     * Agenda a entrada. Devolve false se ela já venceu (antes do fim do tick atual): quem chama dispara-a.
+     */
+    boolean schedule(long id, long dueMillis)
+    {
+        if (!root.add(id, dueMillis)) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * Avança tick a tick até {@code nowMillis}, entregando as entradas vencidas.
+     */
+    void advanceTo(long nowMillis, ExpiredHandler handler)
+    {
+        ExpiredHandler counting = (id, due) -> {
+            size--;
+            handler.expired(id, due);
+        };
+        while (root.currentTime + tickMillis <= nowMillis) {
+            root.tick(counting);
+        }
+    }
+
+    void clear(long startMillis)
+    {
+        root = new Level(tickMillis, startMillis);
+        size = 0;
+    }
+
+    long size()
+    {
+        return size;
+    }
+
+    long currentTime()
+    {
+        return root.currentTime;
+    }
+
+    private final class Level {
+
+        private final long tick;
+        private final long interval;
+        private final Slot[] slots;
+        private long currentTime;
+        private Level overflow;
+
+        Level(long tick, long startMillis)
+        {
+            this.tick = tick;
+            this.interval = tick * wheelSize;
+            this.slots = new Slot[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                slots[i] = new Slot();
+            }
+            this.currentTime = startMillis - Math.floorMod(startMillis, tick);
+        }
+
+        boolean add(long id, long dueMillis)
+        {
+            if (dueMillis < currentTime + tick) {
+                return false;
+            }
+            if (dueMillis < currentTime + interval) {
+                slots[slotIndex(dueMillis)].add(id, dueMillis);
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level(interval, currentTime);
+            }
+            return overflow.add(id, dueMillis);
+        }
+
+        // Só chamado no nível mais baixo.
+        void tick(ExpiredHandler handler)
+        {
+            currentTime += tick;
+            if (overflow != null) {
+                overflow.advance(currentTime, handler);
+            }
+            slots[slotIndex(currentTime)].drain(handler);
+        }
+
+        // Quando o nível de baixo completa uma volta, a posição atual deste nível é redistribuída
+        // a partir do nível mais baixo, o único que sabe se a entrada já venceu.
+        private void advance(long lowerTime, ExpiredHandler handler)
+        {
+            if (lowerTime < currentTime + tick) {
+                return;
+            }
+            currentTime = lowerTime - Math.floorMod(lowerTime, tick);
+            if (overflow != null) {
+                overflow.advance(currentTime, handler);
+            }
+            slots[slotIndex(currentTime)].drain((id, due) -> {
+                if (!root.add(id, due)) {
+                    handler.expired(id, due);
+                }
+            });
+        }
+
+        private int slotIndex(long millis)
+        {
+            return (int) Math.floorMod(Math.floorDiv(millis, tick), (long) wheelSize);
+        }
+    }
+
+    private static final class Slot {
+
+        private static final long[] EMPTY = new long[0];
+
+        private long[] entries = EMPTY;
+        private int length;
+
+        void add(long id, long dueMillis)
+        {
+            if (length + 2 > entries.length) {
+                entries = Arrays.copyOf(entries, Math.max(16, entries.length * 2));
+            }
+            entries[length++] = id;
+            entries[length++] = dueMillis;
+        }
+
+        void drain(ExpiredHandler handler)
+        {
+            long[] drained = entries;
+            int drainedLength = length;
+            // Solta o array: depois de um pico (ex.: meia-noite) a memória volta ao normal.
+            entries = EMPTY;
+            length = 0;
+            for (int i = 0; i < drainedLength; i += 2) {
+                handler.expired(drained[i], drained[i + 1]);
+            }
+        }
+    }
+}
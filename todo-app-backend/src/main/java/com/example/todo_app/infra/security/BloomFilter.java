@@ -0,0 +1,63 @@
+package com.example.todo_app.infra.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de strings com bits em AtomicLongArray: leituras sem lock e escritas concorrentes.
+ * Nunca dá falso negativo; a taxa de falsos positivos depende do número de itens face aos bits.
+ */
+class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final int bitMask;
+    private final int hashes;
+
+    /**
+     * @param expectedItems itens esperados antes da próxima reconstrução
+     */
+    BloomFilter(int expectedItems)
+    {
+        // ~10 bits por item e 4 hashes: ~1% de falsos positivos na capacidade prevista.
+        long bits = Long.highestOneBit(Math.max(1024L, (long) expectedItems * 10 - 1)) << 1;
+        this.words = new AtomicLongArray((int) (bits >>> 6));
+        this.bitMask = (int) bits - 1;
+        this.hashes = 4;
+    }
+
+    void add(String value)
+    {
+        int h1 = mix(value.hashCode());
+        int h2 = mix(h1 ^ 0x9E3779B9) | 1;
+        for (int i = 0; i < hashes; i++) {
+            int bit = (h1 + i * h2) & bitMask;
+            long mask = 1L << bit;
+            int index = bit >>> 6;
+            long word;
+            do {
+                word = words.get(index);
+            } while ((word & mask) == 0 && !words.compareAndSet(index, word, word | mask));
+        }
+    }
+
+    boolean mightContain(String value)
+    {
+        int h1 = mix(value.hashCode());
+        int h2 = mix(h1 ^ 0x9E3779B9) | 1;
+        for (int i = 0; i < hashes; i++) {
+            int bit = (h1 + i * h2) & bitMask;
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int mix(int h)
+    {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+}
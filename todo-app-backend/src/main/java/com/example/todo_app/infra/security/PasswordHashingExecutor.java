@@ -0,0 +1,106 @@
+package com.example.todo_app.infra.security;
+
+import com.example.todo_app.infra.metrics.StatementCountingInspector;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Executa o trabalho de BCrypt (hash no registo e verificação no login) num pool
+ * próprio e limitado, para que uma rajada de logins não ocupe as threads do Tomcat
+ * que servem os outros endpoints. Com a fila cheia a requisição é recusada com 429.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final Timer hashTimer;
+    private final Counter rejected;
+
+    public PasswordHashingExecutor(MeterRegistry meterRegistry,
+                                   @Value("${api.security.password.hashing.threads:0}") int threads,
+                                   @Value("${api.security.password.hashing.queue-capacity:100}") int queueCapacity,
+                                   @Value("${api.security.password.hashing.timeout:10s}") Duration timeout)
+    {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMillis = timeout.toMillis();
+
+        new ExecutorServiceMetrics(executor, "password.hashing", List.of()).bindTo(meterRegistry);
+        this.hashTimer = Timer.builder("password.hashing.duration")
+                .description("Tempo de CPU gasto em cada operação de BCrypt")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("password.hashing.rejected")
+                .description("Operações recusadas por saturação do pool")
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(Supplier<T> work)
+    {
+        Future<T> future;
+        try {
+            // O login carrega o utilizador nesta thread: os statements contam na requisição.
+            Supplier<T> counted = StatementCountingInspector.propagate(work);
+            future = executor.submit(() -> hashTimer.record(counted));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Servidor ocupado, tente novamente em instantes.");
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Tempo de autenticação excedido.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Autenticação interrompida.");
+        }
+    }
+
+    public int queueDepth()
+    {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown()
+    {
+        executor.shutdown();
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.todo_app.infra.security;
 
 import com.example.todo_app.repositories.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,7 +11,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -18,26 +20,63 @@ import java.io.IOException;
 @Component
 public class SecurityFilter extends OncePerRequestFilter {
 
+    public static final String VERIFIED_SUBJECT_ATTRIBUTE = SecurityFilter.class.getName() + ".verifiedSubject";
+
     @Autowired
     private TokenService tokenService;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserPrincipalCache principalCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter validTokens;
+    private Counter invalidTokens;
+    private Counter disabledUsers;
+
+    @PostConstruct
+    void registerMetrics() {
+        validTokens = tokenValidations("valid");
+        invalidTokens = tokenValidations("invalid");
+        disabledUsers = tokenValidations("disabled");
+        meterRegistry.gauge("auth.principal.cache.size", principalCache, UserPrincipalCache::size);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String token = this.recoverToken(request);
-        if (token != null){
-            var username = tokenService.validateToken(token);
-            UserDetails user = userRepository.findByUsername(username)
+        var username = request.getAttribute(VERIFIED_SUBJECT_ATTRIBUTE) instanceof String verified
+                ? verified
+                : token != null ? tokenService.validateToken(token) : null;
+        if (token != null && username == null) {
+            invalidTokens.increment();
+        }
+        if (username != null){
+            UserPrincipal user = principalCache.get(username, name -> userRepository.findByUsername(name).map(UserPrincipal::from))
                     .orElseThrow(() -> new UsernameNotFoundException("Utilizador não encontrado" + username));
 
-            var authenticator = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
-            SecurityContextHolder.getContext().setAuthentication(authenticator);
+            if (user.isEnabled()) {
+                validTokens.increment();
+                var authenticator = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+                SecurityContextHolder.getContext().setAuthentication(authenticator);
+            } else {
+                disabledUsers.increment();
+            }
         }
         filterChain.doFilter(request, response);
     }
 
+    private Counter tokenValidations(String outcome) {
+        return Counter.builder("auth.token.validations")
+                .description("Resultado da validação do token JWT no SecurityFilter")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
     private String recoverToken(HttpServletRequest request) {
         var authHeader = request.getHeader("Authorization");
         if (authHeader == null) return null;
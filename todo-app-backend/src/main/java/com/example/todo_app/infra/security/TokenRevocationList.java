@@ -0,0 +1,99 @@
+package com.example.todo_app.infra.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tokens revogados antes de expirar, só em memória e consultados a cada pedido.
+ * Revogações individuais ficam num mapa exato por jti com um filtro de Bloom à frente, para que
+ * tokens válidos (quase todos) sejam recusados pelo filtro sem tocar no mapa. Revogações de todos
+ * os tokens de um utilizador guardam apenas o instante: vale para os emitidos antes dele.
+ * Cada entrada sai na expiração do último token que pode afetar ({@link #prune}).
+ */
+@Component
+public class TokenRevocationList {
+
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private final Map<String, UserRevocation> revokedUsers = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    private final int expectedTokens;
+    private final Counter hits;
+    private volatile BloomFilter bloom;
+
+    private record UserRevocation(long issuedBeforeSecond, long expiresAtMillis) {}
+
+    public TokenRevocationList(MeterRegistry meterRegistry,
+                               @Value("${api.security.revocation.expected-tokens:100000}") int expectedTokens)
+    {
+        this.expectedTokens = expectedTokens;
+        this.bloom = new BloomFilter(expectedTokens);
+        this.hits = Counter.builder("auth.token.revoked")
+                .description("Tokens recusados por estarem revogados")
+                .register(meterRegistry);
+        meterRegistry.gauge("auth.token.revocations", this, list -> list.revokedTokens.size() + list.revokedUsers.size());
+    }
+
+    public boolean isRevoked(String jti, String username, Instant issuedAt)
+    {
+        boolean revoked = (jti != null && bloom.mightContain(jti) && revokedTokens.containsKey(jti))
+                || (!revokedUsers.isEmpty() && username != null && isRevokedForUser(username, issuedAt));
+        if (revoked) {
+            hits.increment();
+        }
+        return revoked;
+    }
+
+    public void revokeToken(String jti, Instant expiresAt)
+    {
+        synchronized (writeLock) {
+            revokedTokens.merge(jti, expiresAt.toEpochMilli(), Math::max);
+            bloom.add(jti);
+        }
+    }
+
+    /**
+     * Revoga os tokens do utilizador emitidos até {@code issuedBefore}, inclusive o segundo corrente
+     * (o iat do JWT só tem segundos). {@code expiresAt} é o fim de vida do último desses tokens.
+     */
+    public void revokeAllForUser(String username, Instant issuedBefore, Instant expiresAt)
+    {
+        long second = issuedBefore.getEpochSecond() + 1;
+        revokedUsers.merge(username, new UserRevocation(second, expiresAt.toEpochMilli()), (a, b) ->
+                new UserRevocation(Math.max(a.issuedBeforeSecond(), b.issuedBeforeSecond()),
+                        Math.max(a.expiresAtMillis(), b.expiresAtMillis())));
+    }
+
+    /**
+     * Descarta revogações de tokens já expirados e reconstrói o filtro só com as restantes,
+     * já que um filtro de Bloom não permite remover itens.
+     */
+    public void prune(Instant now)
+    {
+        long nowMillis = now.toEpochMilli();
+        revokedUsers.values().removeIf(revocation -> revocation.expiresAtMillis() <= nowMillis);
+        synchronized (writeLock) {
+            revokedTokens.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedTokens, revokedTokens.size() * 2));
+            revokedTokens.keySet().forEach(rebuilt::add);
+            bloom = rebuilt;
+        }
+    }
+
+    public int size()
+    {
+        return revokedTokens.size() + revokedUsers.size();
+    }
+
+    private boolean isRevokedForUser(String username, Instant issuedAt)
+    {
+        UserRevocation revocation = revokedUsers.get(username);
+        // Token sem iat não prova ter sido emitido depois da revogação.
+        return revocation != null && (issuedAt == null || issuedAt.getEpochSecond() < revocation.issuedBeforeSecond());
+    }
+}
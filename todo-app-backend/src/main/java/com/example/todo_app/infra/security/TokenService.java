@@ -1,55 +1,156 @@
 package com.example.todo_app.infra.security;
 
 import com.example.todo_app.models.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 @Service
 public class TokenService {
 
-    @Value("${api.security.token.secret}")
-    private String secret;
+    static final String ISSUER = "todo-app-api";
+    // Família de refresh tokens (sessão) de onde o token de acesso saiu; o logout revoga-a.
+    public static final String SESSION_CLAIM = "sid";
+    private static final int MAX_TOKEN_LENGTH = 4096;
+
+    private final String activeKeyId;
+    private final SecretKey activeKey;
+    private final Map<String, SecretKey> verificationKeys;
+    private final JwtParser parser;
+    private final TokenRevocationList revocationList;
+    private final Duration expiration;
+
+    public TokenService(TokenRevocationList revocationList,
+                        @Value("${api.security.token.secret}") String secret,
+                        @Value("${api.security.token.key-id:v1}") String keyId,
+                        @Value("${api.security.token.previous-keys:}") String previousKeys,
+                        @Value("${api.security.token.expiration:900000}") long expirationMillis)
+    {
+        this.revocationList = revocationList;
+        this.expiration = Duration.ofMillis(expirationMillis);
+        this.activeKeyId = keyId;
+        this.activeKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+
+        Map<String, SecretKey> keys = new HashMap<>(parseKeys(previousKeys));
+        keys.put(keyId, activeKey);
+        this.verificationKeys = Map.copyOf(keys);
+
+        this.parser = Jwts.parserBuilder()
+                .requireIssuer(ISSUER)
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolveKey(header.getKeyId());
+                    }
+                })
+                .build();
+    }
 
     public String generateToken(User user) {
+        return generateToken(user, null);
+    }
 
-        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    public String generateToken(User user, String sessionId) {
 
-        Instant expiration = generateExpirationDate();
+        Instant now = Instant.now();
 
         return Jwts.builder()
-                .setIssuer("todo-app-api")
+                .setHeaderParam(JwsHeader.KEY_ID, activeKeyId)
+                .setId(UUID.randomUUID().toString())
+                .setIssuer(ISSUER)
                 .setSubject(user.getUsername())
-                .setIssuedAt(new Date())
-                .setExpiration(Date.from(expiration))
-                .signWith(key)
+                .claim(SESSION_CLAIM, sessionId)
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plus(expiration)))
+                .signWith(activeKey)
                 .compact();
     }
 
     public String validateToken(String token) {
+        return verify(token).map(Claims::getSubject).orElse(null);
+    }
+
+    public Optional<Claims> verify(String token) {
+        if (!looksLikeJws(token)) {
+            return Optional.empty();
+        }
+        Claims claims;
         try {
-            SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-            return Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .getSubject();
-        } catch (Exception e) {
-            return "";
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        Instant issuedAt = claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null;
+        if (revocationList.isRevoked(claims.getId(), claims.getSubject(), issuedAt)) {
+            return Optional.empty();
+        }
+        return Optional.of(claims);
+    }
+
+    /**
+     * Tempo máximo de vida de um token emitido agora: até lá uma revogação precisa de ser lembrada.
+     */
+    public Duration maxTokenLifetime() {
+        return expiration;
+    }
+
+    private SecretKey resolveKey(String keyId) {
+        if (keyId == null) {
+            return activeKey;
+        }
+        SecretKey key = verificationKeys.get(keyId);
+        if (key == null) {
+            throw new UnsupportedJwtException("Chave de assinatura desconhecida: " + keyId);
         }
+        return key;
     }
 
-    private Instant generateExpirationDate() {
-        return LocalDateTime.now().plusHours(2).toInstant(ZoneOffset.of("-03:00"));
+    private static boolean looksLikeJws(String token) {
+        if (token == null || token.isEmpty() || token.length() > MAX_TOKEN_LENGTH) {
+            return false;
+        }
+        int dots = 0;
+        for (int i = 0; i < token.length(); i++) {
+            if (token.charAt(i) == '.' && ++dots > 2) {
+                return false;
+            }
+        }
+        return dots == 2;
+    }
+
+    private static Map<String, SecretKey> parseKeys(String keys) {
+        Map<String, SecretKey> parsed = new HashMap<>();
+        if (keys == null || keys.isBlank()) {
+            return parsed;
+        }
+        for (String entry : keys.split(",")) {
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Formato inválido em api.security.token.previous-keys, use kid:segredo");
+            }
+            String kid = entry.substring(0, separator).trim();
+            String secret = entry.substring(separator + 1).trim();
+            parsed.put(kid, Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)));
+        }
+        return parsed;
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,52 @@
+package com.example.todo_app.infra.security;
+
+import com.example.todo_app.models.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal das requisições autenticadas por JWT. Imutável e sem o hash da senha: a mesma
+ * instância, guardada no {@link UserPrincipalCache}, é partilhada por requisições concorrentes.
+ * Quem precisa da entidade (para escrever) carrega-a ou usa uma referência pelo {@link #id()}.
+ */
+public record UserPrincipal(
+        Long id,
+        String username,
+        String email,
+        String role,
+        boolean enabled
+) implements UserDetails {
+
+    public static UserPrincipal from(User user)
+    {
+        return new UserPrincipal(user.getId(), user.getUsername(), user.getEmail(), user.getRole(), user.isEnabled());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities()
+    {
+        return List.of(new SimpleGrantedAuthority(role));
+    }
+
+    @Override
+    public String getPassword()
+    {
+        return null;
+    }
+
+    @Override
+    public String getUsername()
+    {
+        return username;
+    }
+
+    @Override
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.todo_app.infra.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Principais por username, para o SecurityFilter não consultar o banco a cada requisição.
+ * Guarda {@link UserPrincipal} imutáveis, nunca entidades; é invalidado pelo
+ * {@link UserPrincipalCacheListener} quando o utilizador muda, mas só na instância que fez a
+ * alteração. Nas outras a entrada sai com {@code POST /users/{id}/revoke-tokens}, propagado pela
+ * sincronização de token_revocations, ou no fim de {@code api.security.principal-cache.ttl}.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private record Entry(UserPrincipal user, long expiresAt) {}
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final long ttlNanos;
+
+    public UserPrincipalCache(@Value("${api.security.principal-cache.max-size:10000}") int maxSize,
+                              @Value("${api.security.principal-cache.ttl:5m}") Duration ttl)
+    {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public Optional<UserPrincipal> get(String username, Function<String, Optional<UserPrincipal>> loader)
+    {
+        long now = System.nanoTime();
+        Entry entry = entries.get(username);
+        if (entry != null && now - entry.expiresAt() < 0) {
+            return Optional.of(entry.user());
+        }
+
+        Optional<UserPrincipal> loaded = loader.apply(username);
+        if (loaded.isPresent() && loaded.get().enabled()) {
+            put(username, new Entry(loaded.get(), now + ttlNanos), now);
+        } else {
+            entries.remove(username);
+        }
+        return loaded;
+    }
+
+    public void invalidate(String username)
+    {
+        if (username != null) {
+            entries.remove(username);
+        }
+    }
+
+    public void invalidateAll()
+    {
+        entries.clear();
+    }
+
+    public int size()
+    {
+        return entries.size();
+    }
+
+    private void put(String username, Entry entry, long now)
+    {
+        if (maxSize <= 0) {
+            return;
+        }
+        if (entries.size() >= maxSize && !entries.containsKey(username)) {
+            entries.values().removeIf(e -> now - e.expiresAt() >= 0);
+
+            Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+            while (entries.size() >= maxSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        entries.put(username, entry);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.todo_app.infra.security;
+
+import com.example.todo_app.models.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class UserPrincipalCacheListener {
+
+    private final UserPrincipalCache principalCache;
+
+    public UserPrincipalCacheListener(@Lazy UserPrincipalCache principalCache)
+    {
+        this.principalCache = principalCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user)
+    {
+        String username = user.getUsername();
+        principalCache.invalidate(username);
+
+        // Invalida de novo após o commit, para não manter em cache uma leitura feita antes dele.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principalCache.invalidate(username);
+                }
+            });
+        }
+    }
+}
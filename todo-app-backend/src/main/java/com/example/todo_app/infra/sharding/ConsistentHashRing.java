@@ -0,0 +1,88 @@
+package com.example.todo_app.infra.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Anel de hashing consistente de user_id para nome de shard. Cada shard ocupa {@code virtualNodes}
+ * pontos do anel; acrescentar um shard só tira dos outros os utilizadores que caem nos pontos novos
+ * (cerca de 1/N do total). Os hashes dependem apenas dos nomes e dos ids, então todas as instâncias
+ * e a ferramenta de resharding chegam ao mesmo dono sem coordenação.
+ */
+public final class ConsistentHashRing {
+
+    private final List<String> shards;
+    private final long[] points;
+    private final String[] owners;
+
+    public ConsistentHashRing(List<String> shards, int virtualNodes)
+    {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("O anel precisa de pelo menos um shard");
+        }
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("app.sharding.virtual-nodes deve ser positivo");
+        }
+        if (shards.stream().distinct().count() != shards.size()) {
+            throw new IllegalArgumentException("Nomes de shard repetidos: " + shards);
+        }
+        this.shards = List.copyOf(shards);
+
+        long[][] entries = new long[shards.size() * virtualNodes][];
+        int n = 0;
+        for (int shard = 0; shard < shards.size(); shard++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                entries[n++] = new long[]{hash(shards.get(shard) + "#" + node), shard};
+            }
+        }
+        // Empate (improvável) resolvido pelo nome, para a ordem não depender da lista.
+        Arrays.sort(entries, (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0])
+                : shards.get((int) a[1]).compareTo(shards.get((int) b[1])));
+
+        this.points = new long[entries.length];
+        this.owners = new String[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            points[i] = entries[i][0];
+            owners[i] = shards.get((int) entries[i][1]);
+        }
+    }
+
+    public List<String> shards()
+    {
+        return shards;
+    }
+
+    public String shardFor(long userId)
+    {
+        long h = mix(userId);
+        int index = Arrays.binarySearch(points, h);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        // Depois do último ponto volta ao primeiro.
+        return owners[index == points.length ? 0 : index];
+    }
+
+    // FNV-1a de 64 bits, estável entre JVMs (ao contrário de depender de hashCode de objetos).
+    private static long hash(String value)
+    {
+        long h = 0xCBF29CE484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xFF;
+            h *= 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    // Finalizador do MurmurHash3: ids sequenciais espalham-se por todo o anel.
+    private static long mix(long h)
+    {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
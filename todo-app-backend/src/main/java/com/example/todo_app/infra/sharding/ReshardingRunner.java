@@ -0,0 +1,236 @@
+package com.example.todo_app.infra.sharding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ferramenta de resharding, executada no arranque com {@code app.sharding.reshard.mode} e que
+ * termina o processo no fim. O anel anterior vem de {@code app.sharding.reshard.from}; o novo é o
+ * configurado em {@code app.sharding.shards}.
+ * <ul>
+ *   <li>{@code copy}: copia para o novo dono as tarefas, versões, tombstones e reminder_log dos
+ *   utilizadores que mudam de shard. É incremental pela revisão (como {@code GET /tasks/changes}) e
+ *   pode ser repetido com a API no ar; a última passagem, com a API parada, fecha a diferença.</li>
+ *   <li>{@code cleanup}: depois de a API arrancar com o novo anel, apaga dos shards antigos os
+ *   utilizadores que já não lhes pertencem, desde que o novo dono tenha pelo menos a mesma versão.</li>
+ * </ul>
+ */
+@Component
+@ConditionalOnProperty(name = "app.sharding.reshard.mode")
+public class ReshardingRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ReshardingRunner.class);
+    private static final int USER_PAGE_SIZE = 500;
+
+    private record Shard(String name, JdbcTemplate jdbc, TransactionTemplate transaction) {}
+
+    private record UserRows(long version, List<Object[]> tasks, List<Object[]> tombstones, List<Object[]> reminders) {}
+
+    private interface UserVisitor
+    {
+        void visit(long userId);
+    }
+
+    private final ConfigurableApplicationContext context;
+    private final String mode;
+    private final ConsistentHashRing previousRing;
+    private final ConsistentHashRing ring;
+    private final Map<String, Shard> shards = new LinkedHashMap<>();
+
+    public ReshardingRunner(ShardRoutingDataSource dataSource,
+                            ConfigurableApplicationContext context,
+                            @Value("${app.sharding.reshard.mode}") String mode,
+                            @Value("${app.sharding.reshard.from:main}") List<String> from,
+                            @Value("${app.sharding.shards}") List<String> shards,
+                            @Value("${app.sharding.virtual-nodes:160}") int virtualNodes)
+    {
+        this.context = context;
+        this.mode = mode;
+        this.previousRing = new ConsistentHashRing(ShardRouter.ringMembers(from), virtualNodes);
+        this.ring = new ConsistentHashRing(ShardRouter.ringMembers(shards), virtualNodes);
+
+        for (String name : ring.shards()) {
+            // Transações sem readOnly: com réplicas, o shard "main" é lido no primário.
+            TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource.shard(name)));
+            this.shards.put(name, new Shard(name, new JdbcTemplate(dataSource.shard(name)), transaction));
+        }
+        for (String name : previousRing.shards()) {
+            if (!this.shards.containsKey(name)) {
+                throw new IllegalArgumentException("Shard " + name + " de app.sharding.reshard.from não está em app.sharding.shards");
+            }
+        }
+    }
+
+    @Override
+    public void run(ApplicationArguments args)
+    {
+        switch (mode) {
+            case "copy" -> copy();
+            case "cleanup" -> cleanup();
+            default -> throw new IllegalArgumentException("app.sharding.reshard.mode deve ser copy ou cleanup: " + mode);
+        }
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+    private void copy()
+    {
+        long users = 0;
+        long tasks = 0;
+        for (String sourceName : previousRing.shards()) {
+            Shard source = shards.get(sourceName);
+            long[] counts = new long[2];
+            forEachUser(source, userId -> {
+                // Restos de um resharding anterior ainda não limpos não são a cópia autoritativa.
+                if (!previousRing.shardFor(userId).equals(source.name())) {
+                    return;
+                }
+                Shard target = shards.get(ring.shardFor(userId));
+                if (target != source) {
+                    counts[0]++;
+                    counts[1] += copyUser(userId, source, target);
+                }
+            });
+            log.info("Shard {}: {} utilizadores copiados para o novo dono ({} tarefas novas ou alteradas)",
+                    source.name(), counts[0], counts[1]);
+            users += counts[0];
+            tasks += counts[1];
+        }
+        log.info("Cópia concluída: {} utilizadores, {} tarefas", users, tasks);
+    }
+
+    private long copyUser(long userId, Shard source, Shard target)
+    {
+        Long copiedVersion = version(target, userId);
+        long since = copiedVersion != null ? copiedVersion : -1;
+
+        // Uma transação só (REPEATABLE READ no MySQL): versão, tarefas e tombstones do mesmo instante.
+        UserRows rows = source.transaction().execute(status -> new UserRows(
+                version(source, userId),
+                source.jdbc().query("""
+                        SELECT id, title, description, priority, data, status, user_id, revision
+                        FROM tasks WHERE user_id = ? AND revision > ?
+                        """, ReshardingRunner::row, userId, since),
+                source.jdbc().query("""
+                        SELECT task_id, user_id, revision, deleted_at
+                        FROM task_tombstones WHERE user_id = ? AND revision > ?
+                        """, ReshardingRunner::row, userId, since),
+                source.jdbc().query("""
+                        SELECT r.task_id, r.due_at, r.fired_at
+                        FROM reminder_log r JOIN tasks t ON t.id = r.task_id
+                        WHERE t.user_id = ?
+                        """, ReshardingRunner::row, userId)));
+
+        target.transaction().executeWithoutResult(status -> {
+            target.jdbc().batchUpdate("""
+                    INSERT INTO tasks (id, title, description, priority, data, status, user_id, revision)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                    ON DUPLICATE KEY UPDATE title = VALUES(title), description = VALUES(description),
+                        priority = VALUES(priority), data = VALUES(data), status = VALUES(status),
+                        revision = VALUES(revision)
+                    """, rows.tasks());
+            List<Object[]> deletedIds = rows.tombstones().stream().map(tombstone -> new Object[]{tombstone[0]}).toList();
+            target.jdbc().batchUpdate("DELETE FROM reminder_log WHERE task_id = ?", deletedIds);
+            target.jdbc().batchUpdate("DELETE FROM tasks WHERE id = ?", deletedIds);
+            target.jdbc().batchUpdate("""
+                    INSERT INTO task_tombstones (task_id, user_id, revision, deleted_at)
+                    VALUES (?, ?, ?, ?)
+                    ON DUPLICATE KEY UPDATE revision = VALUES(revision), deleted_at = VALUES(deleted_at)
+                    """, rows.tombstones());
+            target.jdbc().batchUpdate("INSERT IGNORE INTO reminder_log (task_id, due_at, fired_at) VALUES (?, ?, ?)",
+                    rows.reminders());
+            // Por último: a versão marca até onde a cópia chegou e é o que o cleanup compara.
+            target.jdbc().update("""
+                    INSERT INTO task_versions (user_id, version) VALUES (?, ?)
+                    ON DUPLICATE KEY UPDATE version = GREATEST(version, VALUES(version))
+                    """, userId, rows.version());
+        });
+        return rows.tasks().size();
+    }
+
+    private void cleanup()
+    {
+        long removed = 0;
+        long pending = 0;
+        for (Shard shard : shards.values()) {
+            long[] counts = new long[2];
+            forEachUser(shard, userId -> {
+                Shard owner = shards.get(ring.shardFor(userId));
+                if (owner == shard) {
+                    return;
+                }
+                Long here = version(shard, userId);
+                Long there = version(owner, userId);
+                if (here == null) {
+                    return;
+                }
+                if (there == null || there < here) {
+                    // Escrito aqui depois da última cópia (a API ainda usava o anel anterior?).
+                    log.warn("Utilizador {} em {} não está copiado para {} (versão {} / {}); rode o modo copy",
+                            userId, shard.name(), owner.name(), here, there);
+                    counts[1]++;
+                    return;
+                }
+                shard.transaction().executeWithoutResult(status -> {
+                    shard.jdbc().update("DELETE FROM reminder_log WHERE task_id IN (SELECT id FROM tasks WHERE user_id = ?)", userId);
+                    shard.jdbc().update("DELETE FROM tasks WHERE user_id = ?", userId);
+                    shard.jdbc().update("DELETE FROM task_tombstones WHERE user_id = ?", userId);
+                    shard.jdbc().update("DELETE FROM task_versions WHERE user_id = ?", userId);
+                });
+                counts[0]++;
+            });
+            log.info("Shard {}: {} utilizadores removidos, {} por copiar", shard.name(), counts[0], counts[1]);
+            removed += counts[0];
+            pending += counts[1];
+        }
+        log.info("Limpeza concluída: {} utilizadores removidos dos shards antigos, {} por copiar", removed, pending);
+    }
+
+    // task_versions tem uma linha por utilizador com tarefas no shard (criada na primeira escrita).
+    private void forEachUser(Shard shard, UserVisitor visitor)
+    {
+        long after = 0;
+        List<Long> page;
+        do {
+            page = shard.jdbc().queryForList(
+                    "SELECT user_id FROM task_versions WHERE user_id > ? ORDER BY user_id LIMIT " + USER_PAGE_SIZE,
+                    Long.class, after);
+            for (Long userId : page) {
+                visitor.visit(userId);
+            }
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1);
+            }
+        } while (page.size() == USER_PAGE_SIZE);
+    }
+
+    private static Long version(Shard shard, long userId)
+    {
+        List<Long> versions = shard.jdbc().queryForList("SELECT version FROM task_versions WHERE user_id = ?", Long.class, userId);
+        return versions.isEmpty() ? null : versions.get(0);
+    }
+
+    private static Object[] row(ResultSet resultSet, int rowNum) throws SQLException
+    {
+        Object[] row = new Object[resultSet.getMetaData().getColumnCount()];
+        for (int i = 0; i < row.length; i++) {
+            row[i] = resultSet.getObject(i + 1);
+        }
+        return row;
+    }
+}
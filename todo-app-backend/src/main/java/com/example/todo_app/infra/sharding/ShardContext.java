@@ -0,0 +1,35 @@
+package com.example.todo_app.infra.sharding;
+
+/**
+ * Shard da thread atual, lido pelo {@link ShardRoutingDataSource} no momento em que a conexão é
+ * pedida. Só o {@link ShardRouter} o altera, sempre com devolução do valor anterior.
+ */
+final class ShardContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ShardContext()
+    {
+    }
+
+    static String current()
+    {
+        return CURRENT.get();
+    }
+
+    static String set(String shard)
+    {
+        String previous = CURRENT.get();
+        CURRENT.set(shard);
+        return previous;
+    }
+
+    static void restore(String previous)
+    {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.todo_app.infra.sharding;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Decide em que shard ficam as tarefas de cada utilizador e associa a transação atual a ele.
+ * Sem {@code app.sharding.enabled} existe só o shard {@link #MAIN} e as chamadas não fazem nada.
+ * <p>
+ * As tabelas de tarefas (tasks, tasks_seq, task_versions, task_tombstones, reminder_log) existem em
+ * todos os shards; utilizadores e tokens só no principal. Uma transação toca num único shard.
+ */
+@Component
+public class ShardRouter {
+
+    public static final String MAIN = "main";
+
+    private final ConsistentHashRing ring;
+    private final Map<String, NamedParameterJdbcTemplate> jdbcByShard = new LinkedHashMap<>();
+
+    public ShardRouter(ObjectProvider<ShardRoutingDataSource> routingDataSource,
+                       @Value("${app.sharding.shards:}") List<String> shards,
+                       @Value("${app.sharding.virtual-nodes:160}") int virtualNodes)
+    {
+        ShardRoutingDataSource dataSource = routingDataSource.getIfAvailable();
+        if (dataSource == null) {
+            this.ring = new ConsistentHashRing(List.of(MAIN), 1);
+            return;
+        }
+        this.ring = new ConsistentHashRing(ringMembers(shards), virtualNodes);
+        for (String shard : ring.shards()) {
+            jdbcByShard.put(shard, new NamedParameterJdbcTemplate(dataSource.shard(shard)));
+        }
+    }
+
+    /**
+     * Shards do anel: o principal seguido de {@code app.sharding.shards}, na ordem configurada.
+     */
+    public static List<String> ringMembers(List<String> shards)
+    {
+        List<String> members = new ArrayList<>();
+        members.add(MAIN);
+        for (String shard : shards) {
+            if (!shard.isBlank() && !MAIN.equals(shard.strip())) {
+                members.add(shard.strip());
+            }
+        }
+        return members;
+    }
+
+    public boolean isSharded()
+    {
+        return !jdbcByShard.isEmpty();
+    }
+
+    public List<String> shards()
+    {
+        return ring.shards();
+    }
+
+    public String shardFor(Long userId)
+    {
+        return isSharded() ? ring.shardFor(userId) : MAIN;
+    }
+
+    /**
+     * Associa a transação em curso ao shard do utilizador até ela terminar. Tem de ser chamado
+     * antes do primeiro comando SQL da transação: a conexão é escolhida nesse momento.
+     */
+    public void bindUser(Long userId)
+    {
+        if (!isSharded()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("bindUser exige uma transação ativa");
+        }
+        String previous = ShardContext.set(ring.shardFor(userId));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                ShardContext.restore(previous);
+            }
+        });
+    }
+
+    /**
+     * Executa {@code work} com as transações abertas dentro dele no shard indicado
+     * (tarefas em segundo plano que percorrem todos os shards).
+     */
+    public <T> T callOn(String shard, Supplier<T> work)
+    {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("callOn tem de ser chamado fora de uma transação");
+        }
+        String previous = ShardContext.set(shard);
+        try {
+            return work.get();
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+
+    public void runOn(String shard, Runnable work)
+    {
+        callOn(shard, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Dos ids indicados, os que existem em shards que não o do utilizador: são tarefas de outros
+     * utilizadores (403) e não inexistentes (404). Usa conexões próprias, fora da transação em curso.
+     */
+    public Set<Long> findTaskIdsOnOtherShards(Long userId, Collection<Long> taskIds)
+    {
+        Set<Long> found = new HashSet<>();
+        if (!isSharded() || taskIds.isEmpty()) {
+            return found;
+        }
+        String own = ring.shardFor(userId);
+        Map<String, Object> params = Map.of("ids", taskIds);
+        jdbcByShard.forEach((shard, jdbc) -> {
+            if (!shard.equals(own)) {
+                found.addAll(jdbc.queryForList("SELECT id FROM tasks WHERE id IN (:ids)", params, Long.class));
+            }
+        });
+        return found;
+    }
+}
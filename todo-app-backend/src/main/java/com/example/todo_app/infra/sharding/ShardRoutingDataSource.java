@@ -0,0 +1,99 @@
+package com.example.todo_app.infra.sharding;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entrega a conexão do shard associado à thread ({@link ShardContext}) ou, sem associação, a do
+ * banco principal, onde ficam utilizadores, tokens e as tarefas do shard "main". Tal como o
+ * roteamento de réplicas, tem de ficar atrás de um
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: a transação começa
+ * antes de o serviço dizer a que utilizador (e shard) ela pertence.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final Map<String, DataSource> shards;
+    private final Map<String, Counter> connections = new HashMap<>();
+
+    /**
+     * @param shards data sources por nome de shard; o de {@link ShardRouter#MAIN} é o padrão
+     */
+    public ShardRoutingDataSource(Map<String, DataSource> shards, MeterRegistry meterRegistry)
+    {
+        DataSource main = shards.get(ShardRouter.MAIN);
+        if (main == null) {
+            throw new IllegalArgumentException("O shard " + ShardRouter.MAIN + " é obrigatório");
+        }
+        this.shards = new LinkedHashMap<>(shards);
+        setTargetDataSources(new HashMap<>(shards));
+        setDefaultTargetDataSource(main);
+        setLenientFallback(false);
+
+        for (String shard : shards.keySet()) {
+            connections.put(shard, Counter.builder("datasource.shard.connections")
+                    .description("Conexões obtidas por shard")
+                    .tag("shard", shard)
+                    .register(meterRegistry));
+        }
+    }
+
+    public List<String> shardNames()
+    {
+        return List.copyOf(shards.keySet());
+    }
+
+    /**
+     * Data source do shard, fora do roteamento: cada conexão é independente da transação em curso.
+     */
+    public DataSource shard(String name)
+    {
+        DataSource dataSource = shards.get(name);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Shard desconhecido: " + name);
+        }
+        return dataSource;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException
+    {
+        Connection connection = super.getConnection();
+        connections.get((String) determineCurrentLookupKey()).increment();
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException
+    {
+        Connection connection = super.getConnection(username, password);
+        connections.get((String) determineCurrentLookupKey()).increment();
+        return connection;
+    }
+
+    @Override
+    public void close() throws Exception
+    {
+        // O principal é um bean próprio (pool ou roteamento de réplicas) e é fechado pelo Spring.
+        for (Map.Entry<String, DataSource> shard : shards.entrySet()) {
+            if (!ShardRouter.MAIN.equals(shard.getKey()) && shard.getValue() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey()
+    {
+        String shard = ShardContext.current();
+        return shard != null ? shard : ShardRouter.MAIN;
+    }
+}
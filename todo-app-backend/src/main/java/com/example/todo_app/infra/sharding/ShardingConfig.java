@@ -0,0 +1,154 @@
+package com.example.todo_app.infra.sharding;
+
+import com.example.todo_app.infra.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ativado com {@code app.sharding.enabled=true} (perfil "shards"). O shard "main" é o banco de
+ * {@code spring.datasource.*} (ou o roteamento de réplicas, se ativo); os demais vêm de
+ * {@code app.sharding.shard.<nome>.url} e recebem as migrações de {@code db/shard} no arranque.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    /**
+     * Cada shard gera ids a partir de {@code índice << 40}: ids continuam únicos quando o
+     * resharding muda tarefas de shard, e cabem nos 53 bits de um número em JavaScript.
+     */
+    static final int ID_RANGE_BITS = 40;
+
+    @Bean
+    @FlywayDataSource
+    @ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "false", matchIfMissing = true)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties)
+    {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(HikariDataSource primaryDataSource,
+                                                         ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource,
+                                                         DataSourceProperties properties,
+                                                         Environment environment,
+                                                         MeterRegistry meterRegistry,
+                                                         @Value("${app.sharding.shards}") List<String> shards,
+                                                         @Value("${app.sharding.pool-size:20}") int poolSize,
+                                                         @Value("${spring.flyway.enabled:true}") boolean migrate)
+    {
+        Map<String, DataSource> dataSources = new LinkedHashMap<>();
+        DataSource main = replicaRoutingDataSource.getIfAvailable();
+        dataSources.put(ShardRouter.MAIN, main != null ? main : primaryDataSource);
+
+        List<String> members = ShardRouter.ringMembers(shards);
+        for (int index = 1; index < members.size(); index++) {
+            String name = members.get(index);
+            String prefix = "app.sharding.shard." + name + ".";
+            String url = environment.getProperty(prefix + "url");
+            if (url == null || url.isBlank()) {
+                throw new IllegalStateException("Falta " + prefix + "url");
+            }
+
+            HikariDataSource shard = new HikariDataSource();
+            shard.setPoolName("shard-" + name);
+            shard.setJdbcUrl(url.strip());
+            shard.setUsername(propertyOrDefault(environment, prefix + "username", properties.determineUsername()));
+            shard.setPassword(propertyOrDefault(environment, prefix + "password", properties.determinePassword()));
+            shard.setDriverClassName(primaryDataSource.getDriverClassName());
+            shard.setMaximumPoolSize(poolSize);
+            if (migrate) {
+                migrate(shard, index);
+            }
+            dataSources.put(name, shard);
+        }
+
+        ShardRoutingDataSource routing = new ShardRoutingDataSource(dataSources, meterRegistry);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    /**
+     * Regista os shards em {@code shard_members} no banco principal, depois das migrações dele e
+     * antes de o servidor aceitar pedidos. Falha se a lista configurada trocar ou renomear shards
+     * já registados: a posição de cada um define a faixa dos seus ids.
+     */
+    @Bean
+    public SmartInitializingSingleton shardMembersRegistration(ShardRoutingDataSource shardRoutingDataSource,
+                                                              @Value("${app.sharding.shards}") List<String> shards)
+    {
+        return () -> registerMembers(new JdbcTemplate(shardRoutingDataSource.shard(ShardRouter.MAIN)),
+                ShardRouter.ringMembers(shards));
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource)
+    {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer shardingHibernateCustomizer()
+    {
+        // Com open-in-view a sessão guardaria a conexão do primeiro shard até o fim da requisição.
+        return properties -> properties.put("hibernate.connection.handling_mode",
+                "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+
+    private static String propertyOrDefault(Environment environment, String key, String defaultValue)
+    {
+        String value = environment.getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+
+    private static void registerMembers(JdbcTemplate main, List<String> members)
+    {
+        // INSERT IGNORE: várias instâncias podem arrancar ao mesmo tempo; a conferência abaixo
+        // apanha tanto o conflito de posição como o de nome.
+        for (int index = 1; index < members.size(); index++) {
+            main.update("INSERT IGNORE INTO shard_members (position, name) VALUES (?, ?)", index, members.get(index));
+        }
+        List<String> registered = main.queryForList("SELECT name FROM shard_members ORDER BY position", String.class);
+        // Uma lista mais curta que a registada é a da API durante um resharding: basta concordar no início.
+        for (int index = 1; index < members.size(); index++) {
+            if (index > registered.size() || !registered.get(index - 1).equals(members.get(index))) {
+                throw new IllegalStateException("app.sharding.shards " + members.subList(1, members.size())
+                        + " diverge dos shards já registados " + registered + "; só é possível acrescentar no fim");
+            }
+        }
+    }
+
+    private static void migrate(DataSource shard, int index)
+    {
+        Flyway.configure()
+                .dataSource(shard)
+                .locations("classpath:db/shard")
+                .placeholders(Map.of("sequence_start", Long.toString(((long) index << ID_RANGE_BITS) + 51)))
+                .load()
+                .migrate();
+    }
+}
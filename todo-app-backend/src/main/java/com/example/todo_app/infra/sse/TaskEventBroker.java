@@ -0,0 +1,149 @@
+package com.example.todo_app.infra.sse;
+
+import com.example.todo_app.models.dtos.TaskChangesDTO;
+import com.example.todo_app.service.TaskChangedEvent;
+import com.example.todo_app.service.TasksBulkChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Component
+public class TaskEventBroker {
+
+    private final Map<Long, Set<TaskEventStream>> streamsByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger openStreams = new AtomicInteger();
+    private final ExecutorService dispatcher;
+    private final long timeoutMillis;
+    private final int bufferSize;
+    private final int maxStreamsPerUser;
+
+    public TaskEventBroker(MeterRegistry meterRegistry,
+                           @Value("${app.sse.timeout:30m}") Duration timeout,
+                           @Value("${app.sse.buffer-size:256}") int bufferSize,
+                           @Value("${app.sse.max-streams-per-user:5}") int maxStreamsPerUser,
+                           @Value("${app.sse.dispatcher-threads:2}") int dispatcherThreads)
+    {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatcherThreads, runnable -> {
+            Thread thread = new Thread(runnable, "sse-dispatch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timeoutMillis = timeout.toMillis();
+        this.bufferSize = bufferSize;
+        this.maxStreamsPerUser = maxStreamsPerUser;
+
+        meterRegistry.gauge("sse.task.streams", openStreams);
+    }
+
+    /**
+     * @param catchUp mudanças desde a última revisão que o cliente tem (só a revisão atual, num
+     *                cliente novo); vão no primeiro evento, "sync"
+     */
+    public SseEmitter subscribe(Long userId, Supplier<TaskChangesDTO> catchUp)
+    {
+        TaskEventStream stream = new TaskEventStream(new SseEmitter(timeoutMillis), bufferSize, dispatcher);
+
+        boolean[] added = {false};
+        streamsByUser.compute(userId, (id, streams) -> {
+            Set<TaskEventStream> current = streams != null ? streams : ConcurrentHashMap.newKeySet();
+            if (current.size() < maxStreamsPerUser) {
+                added[0] = current.add(stream);
+            }
+            return current.isEmpty() ? null : current;
+        });
+        if (!added[0]) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Limite de ligações de eventos atingido.");
+        }
+        openStreams.incrementAndGet();
+
+        SseEmitter emitter = stream.emitter();
+        Runnable remove = () -> remove(userId, stream);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+
+        // O stream já está registado: eventos que cheguem durante a consulta ficam na fila
+        // e os que ela já cobre são descartados pela revisão.
+        TaskChangesDTO changes;
+        try {
+            changes = catchUp.get();
+        } catch (RuntimeException e) {
+            // O emitter nunca chega ao cliente: sem isto o stream ficava registado e contava para o limite.
+            remove.run();
+            emitter.completeWithError(e);
+            throw e;
+        }
+        stream.offerSync(() -> SseEmitter.event().id(Long.toString(changes.revision())).name("sync").data(changes),
+                changes.revision());
+
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event)
+    {
+        Set<TaskEventStream> streams = streamsByUser.get(event.userId());
+        if (streams == null) {
+            return;
+        }
+        String id = Long.toString(event.revision());
+        String name = event.type().name().toLowerCase();
+        var payload = event.toDTO();
+        for (TaskEventStream stream : streams) {
+            stream.offer(() -> SseEmitter.event().id(id).name(name).data(payload), event.revision());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksBulkChanged(TasksBulkChangedEvent event)
+    {
+        // Em vez de um evento por tarefa, fecha os streams: o EventSource volta a ligar com
+        // Last-Event-ID e recebe um único "sync" com o que mudou.
+        Set<TaskEventStream> streams = streamsByUser.get(event.userId());
+        if (streams != null) {
+            streams.forEach(TaskEventStream::close);
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.sse.heartbeat-interval-ms:20000}")
+    public void heartbeat()
+    {
+        streamsByUser.values().forEach(streams -> streams.forEach(
+                stream -> stream.offer(() -> SseEmitter.event().comment("heartbeat"), 0L)));
+    }
+
+    @PreDestroy
+    public void shutdown()
+    {
+        streamsByUser.values().forEach(streams -> streams.forEach(TaskEventStream::close));
+        dispatcher.shutdown();
+    }
+
+    private void remove(Long userId, TaskEventStream stream)
+    {
+        boolean[] removed = {false};
+        streamsByUser.computeIfPresent(userId, (id, streams) -> {
+            removed[0] = streams.remove(stream);
+            return streams.isEmpty() ? null : streams;
+        });
+        if (removed[0]) {
+            openStreams.decrementAndGet();
+        }
+    }
+}
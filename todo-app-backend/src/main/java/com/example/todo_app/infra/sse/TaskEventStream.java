@@ -0,0 +1,102 @@
+package com.example.todo_app.infra.sse;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Uma ligação SSE. Os eventos entram numa fila limitada e são escritos por um
+ * dispatcher partilhado, sem thread dedicada por ligação. Se a fila encher o
+ * cliente é desligado e volta a ligar-se com Last-Event-ID para recuperar o que perdeu.
+ */
+final class TaskEventStream {
+
+    // SseEventBuilder é alterado pelo send, por isso cada ligação monta o seu.
+    private record Pending(Supplier<SseEmitter.SseEventBuilder> event, long revision, boolean sync) {}
+
+    private final SseEmitter emitter;
+    private final BlockingQueue<Pending> queue;
+    private final Executor dispatcher;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+    // Revisão até onde o último "sync" enviado já cobre as mudanças.
+    private long syncedRevision;
+
+    TaskEventStream(SseEmitter emitter, int bufferSize, Executor dispatcher) {
+        this.emitter = emitter;
+        this.queue = new ArrayBlockingQueue<>(bufferSize);
+        this.dispatcher = dispatcher;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    void offer(Supplier<SseEmitter.SseEventBuilder> event, long revision) {
+        enqueue(new Pending(event, revision, false));
+    }
+
+    /**
+     * Evento com todas as mudanças até {@code revision}; os eventos avulsos que ele já cobre
+     * e ainda estejam por chegar são descartados.
+     */
+    void offerSync(Supplier<SseEmitter.SseEventBuilder> event, long revision) {
+        enqueue(new Pending(event, revision, true));
+    }
+
+    private void enqueue(Pending pending) {
+        if (closed) {
+            return;
+        }
+        if (!queue.offer(pending)) {
+            close();
+            return;
+        }
+        schedule();
+    }
+
+    void close() {
+        if (!closed) {
+            closed = true;
+            queue.clear();
+            emitter.complete();
+        }
+    }
+
+    private void schedule() {
+        if (draining.compareAndSet(false, true)) {
+            dispatcher.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            Pending pending;
+            while (!closed && (pending = queue.poll()) != null) {
+                // Só o sync marca revisões como entregues: as tarefas de um lote partilham a mesma
+                // revisão e cada uma chega no seu evento.
+                if (!pending.sync() && pending.revision() > 0 && pending.revision() <= syncedRevision) {
+                    continue;
+                }
+                emitter.send(pending.event().get());
+                if (pending.sync()) {
+                    syncedRevision = Math.max(syncedRevision, pending.revision());
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            closed = true;
+            queue.clear();
+            emitter.completeWithError(e);
+        } finally {
+            draining.set(false);
+        }
+        if (!closed && !queue.isEmpty()) {
+            schedule();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.todo_app.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Entity(name = "reminder_log")
+@Table(name = "reminder_log")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReminderLog
+{
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "fired_at", nullable = false)
+    private LocalDateTime firedAt;
+
+    @Embeddable
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable
+    {
+        @Column(name = "task_id")
+        private Long taskId;
+
+        @Column(name = "due_at")
+        private LocalDateTime dueAt;
+    }
+}
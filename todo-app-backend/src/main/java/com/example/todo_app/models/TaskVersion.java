@@ -0,0 +1,28 @@
+package com.example.todo_app.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity(name = "task_versions")
+@Table(name = "task_versions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskVersion
+{
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private long version;
+
+}
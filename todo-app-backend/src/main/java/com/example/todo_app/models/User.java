@@ -1,5 +1,6 @@
 package com.example.todo_app.models;
 
+import com.example.todo_app.infra.security.UserPrincipalCacheListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -8,6 +9,10 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -17,6 +22,9 @@ import java.util.List;
 
 @Entity(name = "users")
 @Table(name = "users")
+@EntityListeners(UserPrincipalCacheListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-username")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -28,6 +36,8 @@ public class User implements UserDetails
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Mutável: o username pode mudar e a entrada do cache por natural id é refeita no update.
+    @NaturalId(mutable = true)
     @Column(unique = true, nullable = false)
     @Size(min = 3, max = 50, message = "O nome deve ter entre 3 e 50 caracteres.")
     @NotBlank
@@ -0,0 +1,9 @@
+package com.example.todo_app.models.dtos;
+
+public record BatchItemResultDTO(
+        int index,
+        Long id,
+        int status,
+        String error,
+        TaskResponseDTO task
+) {}
@@ -0,0 +1,9 @@
+package com.example.todo_app.models.dtos;
+
+import java.util.List;
+
+public record BatchResultDTO(
+        int succeeded,
+        int failed,
+        List<BatchItemResultDTO> results
+) {}
@@ -1,4 +1,4 @@
 package com.example.todo_app.models.dtos;
 
-public record LoginResponseDTO(String token) {
+public record LoginResponseDTO(String token, String refreshToken) {
 }
@@ -0,0 +1,6 @@
+package com.example.todo_app.models.dtos;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenDTO(@NotBlank String refreshToken) {
+}
@@ -0,0 +1,21 @@
+package com.example.todo_app.models.dtos;
+
+import com.example.todo_app.models.enums.Priority;
+import com.example.todo_app.models.enums.Status;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+
+public record TaskBatchUpdateDTO(
+        @NotNull Long id,
+        @Size(max = 50) String title,
+        @Size(max = 250) String description,
+        Priority priority,
+        LocalDate dueDate,
+        Status status
+) {
+    public TaskUpdateDTO changes() {
+        return new TaskUpdateDTO(title, description, priority, dueDate, status);
+    }
+}
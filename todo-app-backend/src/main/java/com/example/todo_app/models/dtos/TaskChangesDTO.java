@@ -0,0 +1,14 @@
+package com.example.todo_app.models.dtos;
+
+import java.util.List;
+
+/**
+ * Mudanças até {@code revision}. Com {@code hasMore} ainda há revisões mais novas: o cliente
+ * continua com {@code since=revision}.
+ */
+public record TaskChangesDTO(
+        long revision,
+        List<TaskResponseDTO> changed,
+        List<Long> deleted,
+        boolean hasMore
+) {}
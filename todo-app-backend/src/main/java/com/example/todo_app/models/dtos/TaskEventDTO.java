@@ -0,0 +1,10 @@
+package com.example.todo_app.models.dtos;
+
+import com.example.todo_app.models.enums.TaskChangeType;
+
+public record TaskEventDTO(
+        TaskChangeType type,
+        long revision,
+        Long taskId,
+        TaskResponseDTO task
+) {}
@@ -0,0 +1,9 @@
+package com.example.todo_app.models.dtos;
+
+import java.util.List;
+
+public record TaskImportResultDTO(
+        long imported,
+        long rejected,
+        List<BatchItemResultDTO> errors
+) {}
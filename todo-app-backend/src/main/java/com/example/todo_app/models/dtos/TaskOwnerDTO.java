@@ -0,0 +1,6 @@
+package com.example.todo_app.models.dtos;
+
+public record TaskOwnerDTO(
+        Long id,
+        Long userId
+) {}
@@ -0,0 +1,8 @@
+package com.example.todo_app.models.dtos;
+
+import java.util.List;
+
+public record TaskPageDTO(
+        List<TaskResponseDTO> items,
+        String nextCursor
+) {}
@@ -0,0 +1,13 @@
+package com.example.todo_app.models.dtos;
+
+import com.example.todo_app.models.enums.Status;
+
+import java.time.LocalDateTime;
+
+public record TaskReminderDTO(
+        Long taskId,
+        Long userId,
+        String title,
+        LocalDateTime dueAt,
+        Status status
+) {}
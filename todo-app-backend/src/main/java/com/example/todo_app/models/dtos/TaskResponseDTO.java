@@ -1,5 +1,6 @@
 package com.example.todo_app.models.dtos;
 
+import com.example.todo_app.models.Task;
 import com.example.todo_app.models.enums.Priority;
 import com.example.todo_app.models.enums.Status;
 
@@ -13,4 +14,12 @@ public record TaskResponseDTO(
         LocalDateTime data,
         Status status
 
-) { }
+) {
+    public static TaskResponseDTO from(Task task) {
+        return new TaskResponseDTO(
+                task.getId(), task.getTitle(),
+                task.getDescription(), task.getPriority(),
+                task.getData(), task.getStatus()
+        );
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.todo_app.models.dtos;
+
+import com.example.todo_app.models.enums.Priority;
+import com.example.todo_app.models.enums.Status;
+
+import java.util.Map;
+
+public record TaskSummaryDTO(
+        long total,
+        Map<Status, Long> byStatus,
+        Map<Priority, Long> byPriority,
+        long overdue,
+        long dueToday
+) {}
@@ -0,0 +1,12 @@
+package com.example.todo_app.models.dtos;
+
+import com.example.todo_app.models.enums.Priority;
+import com.example.todo_app.models.enums.Status;
+
+public record TaskSummaryRowDTO(
+        Status status,
+        Priority priority,
+        Long count,
+        Long overdue,
+        Long dueToday
+) {}
@@ -0,0 +1,7 @@
+package com.example.todo_app.models.enums;
+
+public enum TaskChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,6 @@
+package com.example.todo_app.models.enums;
+
+public enum TransferFormat {
+    NDJSON,
+    CSV
+}
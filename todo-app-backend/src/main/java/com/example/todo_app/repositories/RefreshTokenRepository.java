@@ -0,0 +1,35 @@
+package com.example.todo_app.repositories;
+
+import com.example.todo_app.models.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long>
+{
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    // 1 se este pedido consumiu o token, 0 se ele já tinha sido usado ou revogado (reutilização).
+    @Modifying
+    @Query("update refresh_tokens r set r.usedAt = :now where r.id = :id and r.usedAt is null and r.revokedAt is null")
+    int markUsed(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update refresh_tokens r set r.revokedAt = :now where r.familyId = :familyId and r.revokedAt is null")
+    int revokeFamily(@Param("familyId") String familyId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update refresh_tokens r set r.revokedAt = :now where r.userId = :userId and r.revokedAt is null and r.expiresAt > :now")
+    int revokeAllForUser(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("delete from refresh_tokens r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
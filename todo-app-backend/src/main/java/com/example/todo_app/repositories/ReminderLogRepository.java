@@ -0,0 +1,32 @@
+package com.example.todo_app.repositories;
+
+import com.example.todo_app.models.ReminderLog;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ReminderLogRepository extends JpaRepository<ReminderLog, ReminderLog.Key>
+{
+
+    // 1 se este processo reservou o lembrete, 0 se ele já tinha sido disparado.
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO reminder_log (task_id, due_at, fired_at) VALUES (:taskId, :dueAt, :firedAt)",
+            nativeQuery = true)
+    int claim(@Param("taskId") Long taskId,
+              @Param("dueAt") LocalDateTime dueAt,
+              @Param("firedAt") LocalDateTime firedAt);
+
+    // Desfaz a reserva de um lembrete que não chegou a ser entregue, para ele voltar a disparar.
+    @Modifying
+    @Query("delete from reminder_log r where r.id.taskId = :taskId and r.id.dueAt = :dueAt")
+    int release(@Param("taskId") Long taskId, @Param("dueAt") LocalDateTime dueAt);
+
+    @Modifying
+    @Query("delete from reminder_log r where r.id.dueAt < :before")
+    int deleteDueBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,10 @@
+package com.example.todo_app.repositories;
+
+import java.time.LocalDateTime;
+
+public interface TaskDueRow
+{
+    Long getId();
+    LocalDateTime getData();
+    String getStatus();
+}
@@ -1,12 +1,28 @@
 package com.example.todo_app.repositories;
 
 import com.example.todo_app.models.Task;
+import com.example.todo_app.models.dtos.TaskOwnerDTO;
+import com.example.todo_app.models.dtos.TaskReminderDTO;
+import com.example.todo_app.models.dtos.TaskResponseDTO;
+import com.example.todo_app.models.dtos.TaskSummaryRowDTO;
+import com.example.todo_app.models.enums.Priority;
+import com.example.todo_app.models.enums.Status;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long>
@@ -16,4 +32,144 @@ public interface TaskRepository extends JpaRepository<Task, Long>
     @NotNull Optional<Task> findById(Long taskId);
     Optional<Task> findByUser_Id(Long userId);
     List<Task> findByUserId(Long userId);
+
+    @Query("""
+            select new com.example.todo_app.models.dtos.TaskResponseDTO(
+                t.id, t.title, t.description, t.priority, t.data, t.status)
+            from tasks t
+            where t.user.id = :userId
+              and t.id > :afterId
+              and (:status is null or t.status = :status)
+              and (:priority is null or t.priority = :priority)
+              and (:dueFrom is null or t.data >= :dueFrom)
+              and (:dueTo is null or t.data < :dueTo)
+            order by t.id
+            """)
+    List<TaskResponseDTO> findPageByUserId(@Param("userId") Long userId,
+                                           @Param("afterId") Long afterId,
+                                           @Param("status") Status status,
+                                           @Param("priority") Priority priority,
+                                           @Param("dueFrom") LocalDateTime dueFrom,
+                                           @Param("dueTo") LocalDateTime dueTo,
+                                           Limit limit);
+
+    // Cursor só de avanço: com fetch size Integer.MIN_VALUE o driver do MySQL entrega uma linha de cada vez
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("""
+            select new com.example.todo_app.models.dtos.TaskResponseDTO(
+                t.id, t.title, t.description, t.priority, t.data, t.status)
+            from tasks t
+            where t.user.id = :userId
+            order by t.id
+            """)
+    Stream<TaskResponseDTO> streamResponsesByUserId(@Param("userId") Long userId);
+
+    @Query("select new com.example.todo_app.models.dtos.TaskOwnerDTO(t.id, t.user.id) from tasks t where t.id in :ids")
+    List<TaskOwnerDTO> findOwnersByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select new com.example.todo_app.models.dtos.TaskResponseDTO(
+                t.id, t.title, t.description, t.priority, t.data, t.status)
+            from tasks t
+            where t.user.id = :userId and t.revision > :since and t.revision <= :upTo
+            order by t.revision, t.id
+            """)
+    List<TaskResponseDTO> findChangedSince(@Param("userId") Long userId,
+                                           @Param("since") long since,
+                                           @Param("upTo") long upTo);
+
+    // Só as revisões, pelo índice (user_id, revision): decide onde cortar uma página de mudanças.
+    @Query("""
+            select t.revision from tasks t
+            where t.user.id = :userId and t.revision > :since and t.revision <= :upTo
+            order by t.revision
+            """)
+    List<Long> findRevisionsChangedSince(@Param("userId") Long userId,
+                                         @Param("since") long since,
+                                         @Param("upTo") long upTo,
+                                         Limit limit);
+
+    @Query("""
+            select new com.example.todo_app.models.dtos.TaskResponseDTO(
+                t.id, t.title, t.description, t.priority, t.data, t.status)
+            from tasks t
+            where t.id = :id
+            """)
+    Optional<TaskResponseDTO> findResponseById(@Param("id") Long id);
+
+    @Modifying
+    @Query("""
+            update tasks t set
+                t.title = coalesce(:title, t.title),
+                t.description = coalesce(:description, t.description),
+                t.priority = coalesce(:priority, t.priority),
+                t.status = coalesce(:status, t.status),
+                t.data = coalesce(:data, t.data),
+                t.revision = :revision
+            where t.id = :id and t.user.id = :userId
+            """)
+    int updateOwnedTask(@Param("id") Long id,
+                        @Param("userId") Long userId,
+                        @Param("revision") long revision,
+                        @Param("title") String title,
+                        @Param("description") String description,
+                        @Param("priority") Priority priority,
+                        @Param("status") Status status,
+                        @Param("data") LocalDateTime data);
+
+    @Modifying
+    @Query("delete from tasks t where t.id = :id and t.user.id = :userId")
+    int deleteOwnedTask(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query(value = """
+            SELECT t.id AS id, t.title AS title, t.description AS description,
+                   t.priority AS priority, t.data AS data, t.status AS status,
+                   MATCH(t.title, t.description) AGAINST (:query IN BOOLEAN MODE) AS score
+            FROM tasks t
+            WHERE t.user_id = :userId
+              AND MATCH(t.title, t.description) AGAINST (:query IN BOOLEAN MODE)
+            ORDER BY score DESC, t.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<TaskSearchRow> searchByUserId(@Param("userId") Long userId,
+                                       @Param("query") String query,
+                                       @Param("limit") int limit);
+
+    @Query("""
+            select new com.example.todo_app.models.dtos.TaskSummaryRowDTO(
+                t.status, t.priority, count(t),
+                sum(case when t.data < :today then 1 else 0 end),
+                sum(case when t.data >= :today and t.data < :tomorrow then 1 else 0 end))
+            from tasks t
+            where t.user.id = :userId
+            group by t.status, t.priority
+            """)
+    List<TaskSummaryRowDTO> summarizeByUserId(@Param("userId") Long userId,
+                                              @Param("today") LocalDateTime today,
+                                              @Param("tomorrow") LocalDateTime tomorrow);
+
+    // Percorre o índice (data, status) a partir do cursor (data, status, id), ignorando lembretes já disparados.
+    @Query(value = """
+            SELECT t.id AS id, t.data AS data, t.status AS status
+            FROM tasks t
+            WHERE t.data >= :afterData AND t.data < :dueBefore
+              AND (t.data, t.status, t.id) > (:afterData, :afterStatus, :afterId)
+              AND t.status <> 'Feito'
+              AND NOT EXISTS (SELECT 1 FROM reminder_log r WHERE r.task_id = t.id AND r.due_at = t.data)
+            ORDER BY t.data, t.status, t.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<TaskDueRow> findDueAfter(@Param("afterData") LocalDateTime afterData,
+                                  @Param("afterStatus") String afterStatus,
+                                  @Param("afterId") Long afterId,
+                                  @Param("dueBefore") LocalDateTime dueBefore,
+                                  @Param("limit") int limit);
+
+    @Query("""
+            select new com.example.todo_app.models.dtos.TaskReminderDTO(
+                t.id, t.user.id, t.title, t.data, t.status)
+            from tasks t
+            where t.id in :ids
+            """)
+    List<TaskReminderDTO> findRemindersByIdIn(@Param("ids") Collection<Long> ids);
 }
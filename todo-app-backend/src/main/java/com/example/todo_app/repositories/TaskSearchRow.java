@@ -0,0 +1,14 @@
+package com.example.todo_app.repositories;
+
+import java.time.LocalDateTime;
+
+public interface TaskSearchRow
+{
+    Long getId();
+    String getTitle();
+    String getDescription();
+    String getPriority();
+    LocalDateTime getData();
+    String getStatus();
+    Double getScore();
+}
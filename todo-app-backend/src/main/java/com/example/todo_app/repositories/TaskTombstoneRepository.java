@@ -0,0 +1,34 @@
+package com.example.todo_app.repositories;
+
+import com.example.todo_app.models.TaskTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long>
+{
+
+    @Query("""
+            select t.taskId from task_tombstones t
+            where t.userId = :userId and t.revision > :since and t.revision <= :upTo
+            order by t.revision
+            """)
+    List<Long> findDeletedSince(@Param("userId") Long userId,
+                                @Param("since") long since,
+                                @Param("upTo") long upTo);
+
+    @Query("""
+            select t.revision from task_tombstones t
+            where t.userId = :userId and t.revision > :since and t.revision <= :upTo
+            order by t.revision
+            """)
+    List<Long> findRevisionsDeletedSince(@Param("userId") Long userId,
+                                         @Param("since") long since,
+                                         @Param("upTo") long upTo,
+                                         Limit limit);
+}
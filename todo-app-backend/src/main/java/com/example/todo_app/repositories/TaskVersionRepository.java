@@ -0,0 +1,31 @@
+package com.example.todo_app.repositories;
+
+import com.example.todo_app.models.TaskVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TaskVersionRepository extends JpaRepository<TaskVersion, Long>
+{
+
+    @Query("select v.version from task_versions v where v.userId = :userId")
+    Optional<Long> findVersionByUserId(@Param("userId") Long userId);
+
+    // Cria a linha na primeira escrita do utilizador; o upsert evita a corrida entre duas primeiras escritas.
+    // Os query spaces limitam a invalidação do cache de segundo nível a esta tabela.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_versions"))
+    @Query(value = """
+            INSERT INTO task_versions (user_id, version) VALUES (:userId, 1)
+            ON DUPLICATE KEY UPDATE version = version + 1
+            """, nativeQuery = true)
+    int incrementVersion(@Param("userId") Long userId);
+}
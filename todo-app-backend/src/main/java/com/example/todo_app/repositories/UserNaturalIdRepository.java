@@ -0,0 +1,14 @@
+package com.example.todo_app.repositories;
+
+import com.example.todo_app.models.User;
+
+import java.util.Optional;
+
+public interface UserNaturalIdRepository
+{
+    /**
+     * Procura pelo natural id (username), passando pelo cache de natural ids do Hibernate
+     * em vez de uma consulta JPQL.
+     */
+    Optional<User> findByUsername(String username);
+}
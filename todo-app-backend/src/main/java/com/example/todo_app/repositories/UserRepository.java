@@ -2,17 +2,55 @@ package com.example.todo_app.repositories;
 
 import com.example.todo_app.models.Task;
 import com.example.todo_app.models.User;
+import com.example.todo_app.models.dtos.UserResponseDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long>
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository
 {
 
 
-    Optional findByEmail(String email);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<User> findByEmail(String email);
     Optional<User> findById(Long id);
-    Optional<User> findByUsername(String username);
+
+    @Modifying
+    @Query("update users u set u.password = :password where u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password);
+
+    @Query(value = """
+            select new com.example.todo_app.models.dtos.UserResponseDTO(u.id, u.username, u.email, u.role)
+            from users u
+            where (:prefix is null or u.username like :prefix escape '!' or u.email like :prefix escape '!')
+            """,
+            countQuery = """
+            select count(u) from users u
+            where (:prefix is null or u.username like :prefix escape '!' or u.email like :prefix escape '!')
+            """)
+    Page<UserResponseDTO> findResponsePage(@Param("prefix") String prefix, Pageable pageable);
+
+    @Query("select new com.example.todo_app.models.dtos.UserResponseDTO(u.id, u.username, u.email, u.role) from users u where u.id = :id")
+    Optional<UserResponseDTO> findResponseById(@Param("id") Long id);
+
+    // Integer.MIN_VALUE faz o driver do MySQL entregar as linhas em streaming em vez de carregar o resultado inteiro
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("""
+            select new com.example.todo_app.models.dtos.UserResponseDTO(u.id, u.username, u.email, u.role)
+            from users u
+            where (:prefix is null or u.username like :prefix escape '!' or u.email like :prefix escape '!')
+            order by u.id
+            """)
+    Stream<UserResponseDTO> streamResponses(@Param("prefix") String prefix);
 }
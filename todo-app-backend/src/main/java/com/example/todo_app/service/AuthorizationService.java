@@ -1,24 +1,44 @@
 package com.example.todo_app.service;
 
+import com.example.todo_app.infra.security.UserPrincipalCache;
+import com.example.todo_app.models.User;
 import com.example.todo_app.repositories.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class AuthorizationService implements UserDetailsService
+public class AuthorizationService implements UserDetailsService, UserDetailsPasswordService
 {
 
     @Autowired
     private UserRepository repository;
+    @Autowired
+    private UserPrincipalCache principalCache;
 
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException
     {
         return repository.findByUsername(username)
                     .orElseThrow(() -> new UsernameNotFoundException("Utilizador não encontrado: " + username));
     }
 
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword)
+    {
+        repository.updatePassword(user.getUsername(), newPassword);
+        principalCache.invalidate(user.getUsername());
+
+        if (user instanceof User entity) {
+            entity.setPassword(newPassword);
+        }
+        return user;
+    }
+
 }
@@ -0,0 +1,144 @@
+package com.example.todo_app.service;
+
+import com.example.todo_app.infra.security.TokenService;
+import com.example.todo_app.models.RefreshToken;
+import com.example.todo_app.models.User;
+import com.example.todo_app.models.dtos.LoginResponseDTO;
+import com.example.todo_app.repositories.RefreshTokenRepository;
+import com.example.todo_app.repositories.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Refresh tokens opacos de uso único. Renovar custa um SHA-256 e duas escritas indexadas, em vez
+ * do BCrypt do login; cada renovação consome o token apresentado e devolve outro da mesma família.
+ * Apresentar de novo um token já consumido indica que ele vazou: a família inteira é revogada e
+ * o cliente legítimo volta a fazer login.
+ */
+@Service
+public class RefreshTokenService
+{
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final int TOKEN_BYTES = 32;
+    private static final int MAX_TOKEN_LENGTH = 256;
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${api.security.refresh-token.ttl:14d}")
+    private Duration ttl;
+
+    @Transactional
+    public LoginResponseDTO startSession(User user)
+    {
+        String familyId = UUID.randomUUID().toString();
+        String refreshToken = issue(user.getId(), familyId);
+
+        return new LoginResponseDTO(tokenService.generateToken(user, familyId), refreshToken);
+    }
+
+    // Sem rollback no 401: a revogação da família por reutilização tem de ficar gravada.
+    @Transactional(noRollbackFor = ResponseStatusException.class)
+    public LoginResponseDTO refresh(String refreshToken)
+    {
+        if (refreshToken == null || refreshToken.isBlank() || refreshToken.length() > MAX_TOKEN_LENGTH) {
+            throw invalid();
+        }
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .orElseThrow(RefreshTokenService::invalid);
+
+        LocalDateTime now = LocalDateTime.now();
+        if (current.getRevokedAt() != null || !current.getExpiresAt().isAfter(now)) {
+            throw invalid();
+        }
+        if (refreshTokenRepository.markUsed(current.getId(), now) == 0) {
+            // Já consumido (por outro pedido, ou por quem o roubou): ninguém da família continua.
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            meterRegistry.counter("auth.refresh.reuse").increment();
+            log.warn("Refresh token reutilizado para o utilizador {}: sessão {} revogada", current.getUserId(), current.getFamilyId());
+            throw invalid();
+        }
+
+        User user = userRepository.findById(current.getUserId())
+                .filter(User::isEnabled)
+                .orElseThrow(RefreshTokenService::invalid);
+        String next = issue(user.getId(), current.getFamilyId());
+
+        return new LoginResponseDTO(tokenService.generateToken(user, current.getFamilyId()), next);
+    }
+
+    @Transactional
+    public void revokeSession(String familyId)
+    {
+        refreshTokenRepository.revokeFamily(familyId, LocalDateTime.now());
+    }
+
+    @Transactional
+    public void revokeAllForUser(Long userId)
+    {
+        refreshTokenRepository.revokeAllForUser(userId, LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${api.security.refresh-token.cleanup-interval-ms:3600000}")
+    @Transactional
+    public void deleteExpired()
+    {
+        refreshTokenRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    private String issue(Long userId, String familyId)
+    {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.save(new RefreshToken(null, hash(token), familyId, userId, now, now.plus(ttl), null, null));
+        return token;
+    }
+
+    private static String hash(String token)
+    {
+        try {
+            // O token já tem 256 bits aleatórios: um hash rápido basta, sem sal nem BCrypt.
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ResponseStatusException invalid()
+    {
+        return new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token inválido ou expirado");
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.todo_app.service;
+
+import com.example.todo_app.models.dtos.TaskEventDTO;
+import com.example.todo_app.models.dtos.TaskResponseDTO;
+import com.example.todo_app.models.enums.TaskChangeType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Publicado pelo {@link TaskService} a cada escrita; os ouvintes recebem-no após o commit.
+ * {@code previousDueAt} é a data que já tinha lembrete antes da escrita (null em tarefas novas,
+ * sem data ou concluídas); igual à data atual, o lembrete não mudou.
+ */
+public record TaskChangedEvent(
+        Long userId,
+        TaskChangeType type,
+        long revision,
+        Long taskId,
+        TaskResponseDTO task,
+        LocalDateTime previousDueAt
+) {
+    public TaskEventDTO toDTO() {
+        return new TaskEventDTO(type, revision, taskId, task);
+    }
+}
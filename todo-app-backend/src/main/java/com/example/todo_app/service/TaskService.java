@@ -1,42 +1,472 @@
 package com.example.todo_app.service;
 
+import com.example.todo_app.infra.cache.TaskPageCache;
+import com.example.todo_app.infra.http.Representations;
+import com.example.todo_app.infra.security.UserPrincipal;
+import com.example.todo_app.infra.sharding.ShardRouter;
 import com.example.todo_app.models.Task;
+import com.example.todo_app.models.TaskTombstone;
 import com.example.todo_app.models.User;
+import com.example.todo_app.models.dtos.BatchItemResultDTO;
+import com.example.todo_app.models.dtos.BatchResultDTO;
+import com.example.todo_app.models.dtos.TaskBatchUpdateDTO;
+import com.example.todo_app.models.dtos.TaskChangesDTO;
 import com.example.todo_app.models.dtos.TaskCreateDTO;
+import com.example.todo_app.models.dtos.TaskFilterDTO;
+import com.example.todo_app.models.dtos.TaskOwnerDTO;
+import com.example.todo_app.models.dtos.TaskPageDTO;
+import com.example.todo_app.models.dtos.TaskResponseDTO;
+import com.example.todo_app.models.dtos.TaskSearchResultDTO;
+import com.example.todo_app.models.dtos.TaskSummaryDTO;
+import com.example.todo_app.models.dtos.TaskSummaryRowDTO;
 import com.example.todo_app.models.dtos.TaskUpdateDTO;
+import com.example.todo_app.models.enums.Priority;
 import com.example.todo_app.models.enums.Status;
+import com.example.todo_app.models.enums.TaskChangeType;
 import com.example.todo_app.repositories.TaskRepository;
+import com.example.todo_app.repositories.TaskSearchRow;
+import com.example.todo_app.repositories.TaskTombstoneRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.nio.file.AccessDeniedException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class TaskService {
 
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int MAX_BATCH_SIZE = 1000;
+    // Maior que MAX_BATCH_SIZE e que o lote da importação: cabe sempre pelo menos uma revisão.
+    public static final int MAX_CHANGES = 2000;
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+    public static final int MAX_SEARCH_LIMIT = 100;
+    private static final int MAX_SEARCH_TERMS = 10;
+
     @Autowired
     private TaskRepository taskRepository;
 
-    private User getCurrentAuthenticatedUser()
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TaskVersionService taskVersionService;
+
+    @Autowired
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TaskPageCache taskPageCache;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private UserPrincipal getCurrentAuthenticatedUser()
+    {
+        return (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    }
+
+    // Todas as operações são do utilizador autenticado: a transação vai para o shard dele.
+    private UserPrincipal bindCurrentUser()
+    {
+        UserPrincipal user = getCurrentAuthenticatedUser();
+        shardRouter.bindUser(user.id());
+        return user;
+    }
+
+    @Transactional(readOnly = true)
+    public String taskListETag(String variant, MediaType mediaType)
+    {
+        UserPrincipal user = bindCurrentUser();
+        long version = taskVersionService.currentVersion(user.id());
+
+        return Representations.eTag("t" + user.id() + "." + version, variant == null ? "" : variant, mediaType);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskPageDTO findTaskPageForUser(TaskFilterDTO filter, String cursor, Integer limit)
+    {
+        UserPrincipal user = bindCurrentUser();
+
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        if (!taskPageCache.isEnabled()) {
+            return loadTaskPage(user.id(), filter, cursor, pageSize);
+        }
+
+        // A versão e a página são lidas na mesma transação, logo no mesmo snapshot.
+        long version = taskVersionService.currentVersion(user.id());
+        return taskPageCache.get(user.id(), version, filter + "|" + cursor + "|" + pageSize,
+                () -> loadTaskPage(user.id(), filter, cursor, pageSize));
+    }
+
+    private TaskPageDTO loadTaskPage(Long userId, TaskFilterDTO filter, String cursor, int pageSize)
+    {
+        LocalDateTime dueFrom = filter.dueFrom() != null ? filter.dueFrom().atStartOfDay() : null;
+        LocalDateTime dueTo = filter.dueTo() != null ? filter.dueTo().plusDays(1).atStartOfDay() : null;
+
+        // Busca um item a mais para saber se existe uma próxima página sem precisar de um count.
+        List<TaskResponseDTO> rows = taskRepository.findPageByUserId(
+                userId, decodeCursor(cursor),
+                filter.status(), filter.priority(), dueFrom, dueTo,
+                Limit.of(pageSize + 1));
+
+        if (rows.size() <= pageSize) {
+            return new TaskPageDTO(rows, null);
+        }
+
+        List<TaskResponseDTO> items = rows.subList(0, pageSize);
+        return new TaskPageDTO(items, encodeCursor(items.get(pageSize - 1).id()));
+    }
+
+    @Transactional(readOnly = true)
+    public TaskSummaryDTO summarizeTasks()
+    {
+        UserPrincipal user = bindCurrentUser();
+        LocalDateTime today = LocalDate.now().atStartOfDay();
+
+        Map<Status, Long> byStatus = new EnumMap<>(Status.class);
+        Map<Priority, Long> byPriority = new EnumMap<>(Priority.class);
+        Arrays.stream(Status.values()).forEach(status -> byStatus.put(status, 0L));
+        Arrays.stream(Priority.values()).forEach(priority -> byPriority.put(priority, 0L));
+
+        long total = 0;
+        long overdue = 0;
+        long dueToday = 0;
+        for (TaskSummaryRowDTO row : taskRepository.summarizeByUserId(user.id(), today, today.plusDays(1))) {
+            total += row.count();
+            if (row.status() != null) { byStatus.merge(row.status(), row.count(), Long::sum); }
+            if (row.priority() != null) { byPriority.merge(row.priority(), row.count(), Long::sum); }
+
+            // Tarefas concluídas não contam como atrasadas nem como pendentes para hoje.
+            if (row.status() != Status.Feito) {
+                overdue += row.overdue() != null ? row.overdue() : 0;
+                dueToday += row.dueToday() != null ? row.dueToday() : 0;
+            }
+        }
+
+        return new TaskSummaryDTO(total, byStatus, byPriority, overdue, dueToday);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskSearchResultDTO> searchTasks(String query, Integer limit)
     {
-        return (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        UserPrincipal user = bindCurrentUser();
+
+        String booleanQuery = toBooleanQuery(query);
+        if (booleanQuery.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Informe pelo menos um termo de pesquisa.");
+        }
+        int maxResults = limit == null ? DEFAULT_SEARCH_LIMIT : Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+
+        return taskRepository.searchByUserId(user.id(), booleanQuery, maxResults).stream()
+                .map(TaskService::toSearchResult)
+                .toList();
+    }
+
+    /**
+     * Só a revisão atual, sem tarefas: o ponto de partida de um stream novo, que carrega os dados
+     * pelo GET /tasks paginado em vez de num único evento.
+     */
+    @Transactional(readOnly = true)
+    public TaskChangesDTO currentRevisionOnly()
+    {
+        UserPrincipal user = bindCurrentUser();
+        return new TaskChangesDTO(taskVersionService.currentVersion(user.id()), List.of(), List.of(), false);
+    }
+
+    /**
+     * Mudanças desde {@code since}, no máximo {@link #MAX_CHANGES} linhas por resposta. O corte é
+     * sempre entre revisões: uma revisão tem no máximo {@link #MAX_BATCH_SIZE} linhas e vem inteira.
+     */
+    @Transactional(readOnly = true)
+    public TaskChangesDTO findChangesSince(long since)
+    {
+        UserPrincipal user = bindCurrentUser();
+        long revision = taskVersionService.currentVersion(user.id());
+
+        if (since >= revision) {
+            return new TaskChangesDTO(revision, List.of(), List.of(), false);
+        }
+
+        long upTo = changesPageEnd(user.id(), since, revision);
+        return new TaskChangesDTO(upTo,
+                taskRepository.findChangedSince(user.id(), since, upTo),
+                taskTombstoneRepository.findDeletedSince(user.id(), since, upTo),
+                upTo < revision);
     }
 
-    public List<Task> findTasksForUser()
+    // Última revisão cujas linhas (alteradas + apagadas) cabem todas em MAX_CHANGES.
+    private long changesPageEnd(Long userId, long since, long revision)
     {
-        User user = getCurrentAuthenticatedUser();
+        Limit limit = Limit.of(MAX_CHANGES + 1);
+        List<Long> changed = taskRepository.findRevisionsChangedSince(userId, since, revision, limit);
+        List<Long> deleted = taskTombstoneRepository.findRevisionsDeletedSince(userId, since, revision, limit);
+        if (changed.size() + deleted.size() <= MAX_CHANGES) {
+            return revision;
+        }
 
-        return taskRepository.findAllByUser_Id(user.getId());
+        // Junta as duas listas ordenadas até à linha MAX_CHANGES + 1; a revisão dela fica para a próxima página.
+        int c = 0;
+        int d = 0;
+        long leftOut = 0;
+        for (int taken = 0; taken <= MAX_CHANGES; taken++) {
+            boolean fromChanged = d >= deleted.size() || (c < changed.size() && changed.get(c) <= deleted.get(d));
+            leftOut = fromChanged ? changed.get(c++) : deleted.get(d++);
+        }
+        // Uma revisão maior que a página (não deveria existir) vai inteira, para o cliente avançar.
+        return leftOut - 1 > since ? leftOut - 1 : leftOut;
     }
 
+    @Transactional
     public Task createTask(@NotNull TaskCreateDTO taskCreate)
     {
-        User currentUser = getCurrentAuthenticatedUser();
+        UserPrincipal currentUser = bindCurrentUser();
+
+        Task task = newTask(taskCreate, entityManager.getReference(User.class, currentUser.id()));
+        task.setRevision(taskVersionService.nextVersion(currentUser.id()));
+        Task saved = taskRepository.save(task);
+
+        publish(currentUser.id(), TaskChangeType.CREATED, saved.getRevision(), saved.getId(), TaskResponseDTO.from(saved), null);
+        return saved;
+    }
+
+    @Transactional
+    public TaskResponseDTO updateTask(TaskUpdateDTO taskUpdate, Long taskId)
+    {
+        UserPrincipal currentUser = bindCurrentUser();
+        LocalDateTime data = taskUpdate.dueDate() != null ? taskUpdate.dueDate().atStartOfDay() : null;
+        long revision = taskVersionService.nextVersion(currentUser.id());
+        // Só data e status mudam o lembrete; nos demais casos ele continua o mesmo.
+        boolean affectsReminder = data != null || taskUpdate.status() != null;
+        LocalDateTime previousDueAt = affectsReminder
+                ? taskRepository.findRemindersByIdIn(List.of(taskId)).stream()
+                        .findFirst()
+                        .map(task -> pendingDueAt(task.dueAt(), task.status()))
+                        .orElse(null)
+                : null;
+
+        int updated = taskRepository.updateOwnedTask(taskId, currentUser.id(), revision,
+                taskUpdate.title(), taskUpdate.description(), taskUpdate.priority(), taskUpdate.status(), data);
+        if (updated == 0) {
+            throw notFoundOrForbidden(currentUser.id(), taskId);
+        }
+
+        TaskResponseDTO response = taskRepository.findResponseById(taskId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Tarefa não encontrada com o id " + taskId));
 
+        publish(currentUser.id(), TaskChangeType.UPDATED, revision, taskId, response,
+                affectsReminder ? previousDueAt : pendingDueAt(response.data(), response.status()));
+        return response;
+    }
+
+    @Transactional
+    public void deleteTask(Long taskId)
+    {
+        UserPrincipal currentUser = bindCurrentUser();
+        // Como nas demais escritas, a linha de task_versions é bloqueada antes das tarefas; na ordem
+        // inversa um PUT e um DELETE concorrentes do mesmo utilizador fazem deadlock no InnoDB.
+        // Se nada for apagado, o rollback da exceção desfaz o incremento.
+        long revision = taskVersionService.nextVersion(currentUser.id());
+
+        if (taskRepository.deleteOwnedTask(taskId, currentUser.id()) == 0) {
+            throw notFoundOrForbidden(currentUser.id(), taskId);
+        }
+        taskTombstoneRepository.save(new TaskTombstone(taskId, currentUser.id(), revision, LocalDateTime.now()));
+
+        publish(currentUser.id(), TaskChangeType.DELETED, revision, taskId, null, null);
+    }
+
+    @Transactional
+    public BatchResultDTO createTasks(List<TaskCreateDTO> items)
+    {
+        checkBatchSize(items);
+        UserPrincipal currentUser = bindCurrentUser();
+        User owner = entityManager.getReference(User.class, currentUser.id());
+
+        BatchItemResultDTO[] results = new BatchItemResultDTO[items.size()];
+        List<Task> tasks = new ArrayList<>(items.size());
+        List<Integer> indexes = new ArrayList<>(items.size());
+
+        for (int i = 0; i < items.size(); i++) {
+            TaskCreateDTO item = items.get(i);
+            String error = validate(item);
+            if (error != null) {
+                results[i] = new BatchItemResultDTO(i, null, HttpStatus.BAD_REQUEST.value(), error, null);
+                continue;
+            }
+            tasks.add(newTask(item, owner));
+            indexes.add(i);
+        }
+
+        if (!tasks.isEmpty()) {
+            long revision = taskVersionService.nextVersion(currentUser.id());
+            tasks.forEach(task -> task.setRevision(revision));
+        }
+        List<Task> saved = taskRepository.saveAll(tasks);
+        for (int i = 0; i < saved.size(); i++) {
+            Task task = saved.get(i);
+            int index = indexes.get(i);
+            TaskResponseDTO response = TaskResponseDTO.from(task);
+            results[index] = new BatchItemResultDTO(index, task.getId(), HttpStatus.CREATED.value(), null, response);
+            publish(currentUser.id(), TaskChangeType.CREATED, task.getRevision(), task.getId(), response, null);
+        }
+
+        return toBatchResult(results);
+    }
+
+    @Transactional
+    public BatchResultDTO updateTasks(List<TaskBatchUpdateDTO> items)
+    {
+        checkBatchSize(items);
+        UserPrincipal currentUser = bindCurrentUser();
+
+        Set<Long> ids = items.stream().filter(Objects::nonNull).map(TaskBatchUpdateDTO::id)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, Task> tasksById = taskRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        Set<Long> elsewhere = shardRouter.findTaskIdsOnOtherShards(currentUser.id(),
+                ids.stream().filter(id -> !tasksById.containsKey(id)).toList());
+
+        BatchItemResultDTO[] results = new BatchItemResultDTO[items.size()];
+        List<Task> updatedTasks = new ArrayList<>();
+        Map<Long, LocalDateTime> previousDueAts = new HashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            TaskBatchUpdateDTO item = items.get(i);
+            String error = validate(item);
+            Task task = error == null ? tasksById.get(item.id()) : null;
+
+            if (error != null) {
+                results[i] = new BatchItemResultDTO(i, item != null ? item.id() : null, HttpStatus.BAD_REQUEST.value(), error, null);
+            } else if (task == null) {
+                results[i] = elsewhere.contains(item.id()) ? forbidden(i, item.id()) : notFound(i, item.id());
+            } else if (!task.getUser().getId().equals(currentUser.id())) {
+                results[i] = forbidden(i, item.id());
+            } else {
+                previousDueAts.putIfAbsent(task.getId(), pendingDueAt(task.getData(), task.getStatus()));
+                applyUpdate(task, item.changes());
+                updatedTasks.add(task);
+                results[i] = new BatchItemResultDTO(i, task.getId(), HttpStatus.OK.value(), null, null);
+            }
+        }
+
+        if (!updatedTasks.isEmpty()) {
+            long revision = taskVersionService.nextVersion(currentUser.id());
+            updatedTasks.forEach(task -> task.setRevision(revision));
+        }
+        taskRepository.flush();
+        for (int i = 0; i < results.length; i++) {
+            if (results[i].status() == HttpStatus.OK.value()) {
+                Task task = tasksById.get(results[i].id());
+                TaskResponseDTO response = TaskResponseDTO.from(task);
+                results[i] = new BatchItemResultDTO(i, task.getId(), HttpStatus.OK.value(), null, response);
+                publish(currentUser.id(), TaskChangeType.UPDATED, task.getRevision(), task.getId(), response,
+                        previousDueAts.get(task.getId()));
+            }
+        }
+
+        return toBatchResult(results);
+    }
+
+    @Transactional
+    public BatchResultDTO deleteTasks(List<Long> taskIds)
+    {
+        checkBatchSize(taskIds);
+        UserPrincipal currentUser = bindCurrentUser();
+
+        Map<Long, Long> ownerByTaskId = new HashMap<>();
+        List<Long> ids = taskIds.stream().filter(Objects::nonNull).toList();
+        for (TaskOwnerDTO owner : taskRepository.findOwnersByIdIn(ids)) {
+            ownerByTaskId.put(owner.id(), owner.userId());
+        }
+        Set<Long> elsewhere = shardRouter.findTaskIdsOnOtherShards(currentUser.id(),
+                ids.stream().filter(id -> !ownerByTaskId.containsKey(id)).collect(Collectors.toSet()));
+
+        BatchItemResultDTO[] results = new BatchItemResultDTO[taskIds.size()];
+        List<Long> toDelete = new ArrayList<>();
+        for (int i = 0; i < taskIds.size(); i++) {
+            Long taskId = taskIds.get(i);
+            Long ownerId = ownerByTaskId.get(taskId);
+
+            if (ownerId == null && elsewhere.contains(taskId)) {
+                results[i] = forbidden(i, taskId);
+            } else if (ownerId == null) {
+                results[i] = notFound(i, taskId);
+            } else if (!ownerId.equals(currentUser.id())) {
+                results[i] = forbidden(i, taskId);
+            } else {
+                toDelete.add(taskId);
+                results[i] = new BatchItemResultDTO(i, taskId, HttpStatus.NO_CONTENT.value(), null, null);
+            }
+        }
+
+        if (!toDelete.isEmpty()) {
+            // Versão antes das tarefas, na mesma ordem de bloqueio das outras escritas.
+            long revision = taskVersionService.nextVersion(currentUser.id());
+            taskRepository.deleteAllByIdInBatch(toDelete);
+            LocalDateTime deletedAt = LocalDateTime.now();
+            List<Long> deletedIds = toDelete.stream().distinct().toList();
+            taskTombstoneRepository.saveAll(deletedIds.stream()
+                    .map(taskId -> new TaskTombstone(taskId, currentUser.id(), revision, deletedAt))
+                    .toList());
+            deletedIds.forEach(taskId -> publish(currentUser.id(), TaskChangeType.DELETED, revision, taskId, null, null));
+        }
+
+        return toBatchResult(results);
+    }
+
+    private ResponseStatusException notFoundOrForbidden(Long userId, Long taskId)
+    {
+        if (taskRepository.existsById(taskId) || !shardRouter.findTaskIdsOnOtherShards(userId, List.of(taskId)).isEmpty()) {
+            return new ResponseStatusException(HttpStatus.FORBIDDEN, "Acesso negado. Esta tarefa não lhe pertence.");
+        }
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Tarefa não encontrada com o id " + taskId);
+    }
+
+    private void publish(Long userId, TaskChangeType type, long revision, Long taskId, TaskResponseDTO task,
+                         LocalDateTime previousDueAt)
+    {
+        eventPublisher.publishEvent(new TaskChangedEvent(userId, type, revision, taskId, task, previousDueAt));
+    }
+
+    // Data com lembrete por disparar: tarefas concluídas não têm lembrete.
+    private static LocalDateTime pendingDueAt(LocalDateTime data, Status status)
+    {
+        return status == Status.Feito ? null : data;
+    }
+
+    private static Task newTask(TaskCreateDTO taskCreate, User owner)
+    {
         Task task = new Task();
         task.setTitle(taskCreate.title());
         task.setDescription(taskCreate.description());
@@ -47,41 +477,101 @@ public class TaskService {
         }
 
         task.setStatus(Status.Fazer);
-        task.setUser(currentUser);
-
-        return taskRepository.save(task);
+        task.setUser(owner);
+        return task;
     }
 
-    public Task updateTask(TaskUpdateDTO taskUpdate, Long taskId) throws AccessDeniedException {
-        User currentUser = getCurrentAuthenticatedUser();
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new RuntimeException("Tarefa não encontrada com o id " + taskId));
-
-        if (!task.getUser().getId().equals(currentUser.getId()))
-        {
-            throw new AccessDeniedException("Acesso Negado. Esta tarefa não lhe pertence.");
-        }
-
+    private static void applyUpdate(Task task, TaskUpdateDTO taskUpdate)
+    {
         if (taskUpdate.title() != null){ task.setTitle(taskUpdate.title()); }
         if (taskUpdate.description() != null){ task.setDescription(taskUpdate.description()); }
         if (taskUpdate.priority() != null){ task.setPriority(taskUpdate.priority()); }
         if (taskUpdate.status() != null){ task.setStatus(taskUpdate.status()); }
         if (taskUpdate.dueDate() != null){ task.setData(taskUpdate.dueDate().atStartOfDay()); }
+    }
 
-        return taskRepository.save(task);
+    private String validate(Object item)
+    {
+        if (item == null) {
+            return "Item vazio.";
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
     }
 
-    public void deleteTask(Long taskId) throws AccessDeniedException {
-        User currentUser = getCurrentAuthenticatedUser();
+    private static void checkBatchSize(List<?> items)
+    {
+        if (items == null || items.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O lote não pode estar vazio.");
+        }
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "O lote excede o limite de " + MAX_BATCH_SIZE + " itens.");
+        }
+    }
 
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(()-> new RuntimeException("Tarefa não encontrada com o id " + taskId));
-        if (!task.getUser().getId().equals(currentUser.getId()))
-        {
-            throw new AccessDeniedException("Acesso negado. Esta tarefa não lhe pertence.");
+    private static BatchItemResultDTO notFound(int index, Long taskId)
+    {
+        return new BatchItemResultDTO(index, taskId, HttpStatus.NOT_FOUND.value(), "Tarefa não encontrada com o id " + taskId, null);
+    }
+
+    private static BatchItemResultDTO forbidden(int index, Long taskId)
+    {
+        return new BatchItemResultDTO(index, taskId, HttpStatus.FORBIDDEN.value(), "Acesso negado. Esta tarefa não lhe pertence.", null);
+    }
+
+    private static BatchResultDTO toBatchResult(BatchItemResultDTO[] results)
+    {
+        int succeeded = (int) Arrays.stream(results).filter(r -> r.status() < 300).count();
+        return new BatchResultDTO(succeeded, results.length - succeeded, List.of(results));
+    }
+
+    // Cada termo vira "+termo*": todos obrigatórios e com correspondência por prefixo.
+    // Operadores do modo booleano do MySQL digitados pelo utilizador são descartados.
+    private static String toBooleanQuery(String query)
+    {
+        if (query == null) {
+            return "";
         }
+        return Arrays.stream(query.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isBlank())
+                .distinct()
+                .limit(MAX_SEARCH_TERMS)
+                .map(term -> "+" + term + "*")
+                .collect(Collectors.joining(" "));
+    }
 
-        taskRepository.delete(task);
+    private static TaskSearchResultDTO toSearchResult(TaskSearchRow row)
+    {
+        TaskResponseDTO task = new TaskResponseDTO(row.getId(), row.getTitle(), row.getDescription(),
+                row.getPriority() != null ? Priority.valueOf(row.getPriority()) : null,
+                row.getData(),
+                row.getStatus() != null ? Status.valueOf(row.getStatus()) : null);
+        return new TaskSearchResultDTO(task, row.getScore() != null ? row.getScore() : 0.0);
+    }
+
+    private static String encodeCursor(Long lastId)
+    {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(lastId.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long decodeCursor(String cursor)
+    {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido.");
+        }
     }
 
 }
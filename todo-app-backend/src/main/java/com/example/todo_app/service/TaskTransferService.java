@@ -0,0 +1,334 @@
+package com.example.todo_app.service;
+
+import com.example.todo_app.infra.csv.CsvReader;
+import com.example.todo_app.infra.csv.CsvWriter;
+import com.example.todo_app.infra.sharding.ShardRouter;
+import com.example.todo_app.models.Task;
+import com.example.todo_app.models.User;
+import com.example.todo_app.models.dtos.BatchItemResultDTO;
+import com.example.todo_app.models.dtos.TaskCreateDTO;
+import com.example.todo_app.models.dtos.TaskImportResultDTO;
+import com.example.todo_app.models.dtos.TaskResponseDTO;
+import com.example.todo_app.models.enums.Priority;
+import com.example.todo_app.models.enums.Status;
+import com.example.todo_app.models.enums.TransferFormat;
+import com.example.todo_app.repositories.TaskRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Exportação e importação das tarefas de um utilizador em NDJSON ou CSV. As duas direções
+ * trabalham linha a linha, sem materializar a lista de tarefas em memória.
+ */
+@Service
+public class TaskTransferService
+{
+    static final String[] CSV_COLUMNS = {"id", "title", "description", "priority", "data", "status"};
+    private static final int EXPORT_FLUSH_INTERVAL = 1000;
+    private static final int IMPORT_CHUNK_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskVersionService taskVersionService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ObjectReader rowReader;
+    private final ObjectWriter rowWriter;
+    private final ObjectMapper objectMapper;
+
+    public TaskTransferService(ObjectMapper objectMapper)
+    {
+        this.objectMapper = objectMapper;
+        this.rowReader = objectMapper.readerFor(TaskResponseDTO.class);
+        this.rowWriter = objectMapper.writerFor(TaskResponseDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportTasks(Long userId, TransferFormat format, OutputStream out) throws IOException
+    {
+        shardRouter.bindUser(userId);
+        try (Stream<TaskResponseDTO> tasks = taskRepository.streamResponsesByUserId(userId)) {
+            if (format == TransferFormat.CSV) {
+                exportCsv(tasks, out);
+            } else {
+                exportNdjson(tasks, out);
+            }
+        }
+    }
+
+    public TaskImportResultDTO importTasks(Long userId, TransferFormat format, InputStream in)
+    {
+        ImportState state = new ImportState(userId);
+        try {
+            if (format == TransferFormat.CSV) {
+                importCsv(in, state);
+            } else {
+                importNdjson(in, state);
+            }
+            state.flush();
+        } catch (IOException e) {
+            // As partes já gravadas continuam válidas; o relatório indica onde a leitura parou.
+            state.reject(state.lastLine, "Leitura interrompida: " + e.getMessage());
+        } finally {
+            if (state.revision > 0) {
+                eventPublisher.publishEvent(new TasksBulkChangedEvent(userId, state.revision));
+            }
+        }
+        return new TaskImportResultDTO(state.imported, state.rejected, state.errors);
+    }
+
+    private void exportNdjson(Stream<TaskResponseDTO> tasks, OutputStream out) throws IOException
+    {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            int written = 0;
+            for (TaskResponseDTO task : (Iterable<TaskResponseDTO>) tasks::iterator) {
+                rowWriter.writeValue(generator, task);
+                generator.writeRaw('\n');
+                if (++written % EXPORT_FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        }
+    }
+
+    private void exportCsv(Stream<TaskResponseDTO> tasks, OutputStream out) throws IOException
+    {
+        CsvWriter csv = new CsvWriter(out);
+        csv.writeRow((Object[]) CSV_COLUMNS);
+
+        int written = 0;
+        for (TaskResponseDTO task : (Iterable<TaskResponseDTO>) tasks::iterator) {
+            csv.writeRow(task.id(), task.title(), task.description(), task.priority(), task.data(), task.status());
+            if (++written % EXPORT_FLUSH_INTERVAL == 0) {
+                csv.flush();
+            }
+        }
+        csv.flush();
+    }
+
+    private void importNdjson(InputStream in, ImportState state) throws IOException
+    {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            state.lastLine++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                state.accept(rowReader.readValue(line));
+            } catch (JsonProcessingException e) {
+                state.reject(state.lastLine, "JSON inválido: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private void importCsv(InputStream in, ImportState state) throws IOException
+    {
+        CsvReader csv = new CsvReader(in);
+        List<String> header = csv.readRow();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).strip().toLowerCase(), i);
+        }
+        if (!columns.containsKey("title")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O cabeçalho do CSV precisa da coluna title.");
+        }
+
+        List<String> row;
+        while ((row = csv.readRow()) != null) {
+            state.lastLine = csv.lineNumber();
+            if (row.size() == 1 && row.get(0).isEmpty()) {
+                continue;
+            }
+            try {
+                state.accept(new TaskResponseDTO(
+                        null,
+                        field(row, columns, "title"),
+                        field(row, columns, "description"),
+                        enumField(row, columns, "priority", Priority.class),
+                        dateField(row, columns, "data"),
+                        enumField(row, columns, "status", Status.class)));
+            } catch (IllegalArgumentException e) {
+                state.reject(state.lastLine, e.getMessage());
+            }
+        }
+    }
+
+    private static String field(List<String> row, Map<String, Integer> columns, String name)
+    {
+        Integer index = columns.get(name);
+        if (index == null || index >= row.size() || row.get(index).isEmpty()) {
+            return null;
+        }
+        return row.get(index);
+    }
+
+    private static <E extends Enum<E>> E enumField(List<String> row, Map<String, Integer> columns, String name, Class<E> type)
+    {
+        String value = field(row, columns, name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.strip());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(name + ": valor inválido " + value);
+        }
+    }
+
+    private static LocalDateTime dateField(List<String> row, Map<String, Integer> columns, String name)
+    {
+        String value = field(row, columns, name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            String trimmed = value.strip();
+            return trimmed.length() == 10 ? LocalDate.parse(trimmed).atStartOfDay() : LocalDateTime.parse(trimmed);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(name + ": data inválida " + value);
+        }
+    }
+
+    private String validate(TaskResponseDTO row)
+    {
+        TaskCreateDTO create = new TaskCreateDTO(row.title(), row.description(), row.priority(),
+                row.data() != null ? row.data().toLocalDate() : null);
+        Set<ConstraintViolation<TaskCreateDTO>> violations = validator.validate(create);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Acumula linhas válidas e grava-as em blocos, cada bloco na sua própria transação e com uma
+     * revisão nova, limpando o contexto de persistência para que a memória não cresça com o arquivo.
+     */
+    private class ImportState
+    {
+        private final Long userId;
+        private final List<TaskResponseDTO> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        private final List<BatchItemResultDTO> errors = new ArrayList<>();
+        private long lastLine;
+        private long imported;
+        private long rejected;
+        private long revision;
+
+        ImportState(Long userId)
+        {
+            this.userId = userId;
+        }
+
+        void accept(TaskResponseDTO row)
+        {
+            String error = row == null ? "Item vazio." : validate(row);
+            if (error != null) {
+                reject(lastLine, error);
+                return;
+            }
+            chunk.add(row);
+            if (chunk.size() >= IMPORT_CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        void reject(long line, String error)
+        {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new BatchItemResultDTO((int) line, null, HttpStatus.BAD_REQUEST.value(), error, null));
+            }
+        }
+
+        void flush()
+        {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            revision = transactionTemplate.execute(status -> {
+                shardRouter.bindUser(userId);
+                long chunkRevision = taskVersionService.nextVersion(userId);
+                User owner = entityManager.getReference(User.class, userId);
+
+                List<Task> tasks = new ArrayList<>(chunk.size());
+                for (TaskResponseDTO row : chunk) {
+                    Task task = new Task();
+                    task.setTitle(row.title());
+                    task.setDescription(row.description());
+                    task.setPriority(row.priority());
+                    task.setData(row.data());
+                    task.setStatus(row.status() != null ? row.status() : Status.Fazer);
+                    task.setUser(owner);
+                    task.setRevision(chunkRevision);
+                    tasks.add(task);
+                }
+                taskRepository.saveAll(tasks);
+                entityManager.flush();
+                entityManager.clear();
+                return chunkRevision;
+            });
+            imported += chunk.size();
+            chunk.clear();
+        }
+    }
+}
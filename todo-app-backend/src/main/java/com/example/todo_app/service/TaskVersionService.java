@@ -0,0 +1,31 @@
+package com.example.todo_app.service;
+
+import com.example.todo_app.repositories.TaskVersionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Contador por utilizador incrementado a cada escrita em tarefas. Permite responder a
+ * pedidos condicionais (ETag) sem consultar a tabela de tarefas.
+ */
+@Service
+public class TaskVersionService
+{
+    @Autowired
+    private TaskVersionRepository taskVersionRepository;
+
+    @Transactional(readOnly = true)
+    public long currentVersion(Long userId)
+    {
+        return taskVersionRepository.findVersionByUserId(userId).orElse(0L);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long nextVersion(Long userId)
+    {
+        taskVersionRepository.incrementVersion(userId);
+        return taskVersionRepository.findVersionByUserId(userId).orElseThrow();
+    }
+}
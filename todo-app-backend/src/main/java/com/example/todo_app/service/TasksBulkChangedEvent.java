@@ -0,0 +1,10 @@
+package com.example.todo_app.service;
+
+/**
+ * Publicado após escritas em massa (importação), no lugar de um {@link TaskChangedEvent} por tarefa.
+ * Os ouvintes devem tratar as tarefas do utilizador como alteradas até {@code revision}.
+ */
+public record TasksBulkChangedEvent(
+        Long userId,
+        long revision
+) {}
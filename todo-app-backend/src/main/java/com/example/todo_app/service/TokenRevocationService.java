@@ -0,0 +1,127 @@
+package com.example.todo_app.service;
+
+import com.example.todo_app.infra.security.TokenRevocationList;
+import com.example.todo_app.infra.security.UserPrincipalCache;
+import com.example.todo_app.infra.security.TokenService;
+import com.example.todo_app.models.TokenRevocation;
+import com.example.todo_app.repositories.TokenRevocationRepository;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Grava as revogações e mantém a {@link TokenRevocationList} desta instância em dia com as das
+ * outras. A verificação em cada pedido fica só em memória; um token revogado noutra instância
+ * continua aceite aqui até à próxima sincronização ({@code api.security.revocation.sync-interval-ms}).
+ * Uma revogação de todos os tokens de um utilizador também tira o seu principal do
+ * {@link UserPrincipalCache} de cada instância, que relê role e enabled do banco.
+ */
+@Service
+public class TokenRevocationService
+{
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    @Autowired
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    @Autowired
+    private TokenRevocationList revocationList;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private UserPrincipalCache principalCache;
+
+    @Value("${api.security.revocation.sync-interval-ms:5000}")
+    private long syncIntervalMillis;
+
+    private volatile LocalDateTime lastSync;
+
+    @Transactional
+    public void revokeToken(Claims claims)
+    {
+        if (claims.getId() == null) {
+            // Tokens anteriores ao jti só podem ser revogados em conjunto.
+            revokeAllForUser(claims.getSubject());
+            return;
+        }
+        Instant expiresAt = claims.getExpiration().toInstant();
+        revocationList.revokeToken(claims.getId(), expiresAt);
+        tokenRevocationRepository.save(new TokenRevocation(null, claims.getId(), null, null,
+                toLocal(expiresAt), LocalDateTime.now()));
+    }
+
+    @Transactional
+    public void revokeAllForUser(String username)
+    {
+        Instant now = Instant.now();
+        // Um minuto de folga para tokens emitidos no mesmo instante com outro relógio.
+        Instant expiresAt = now.plus(tokenService.maxTokenLifetime()).plus(Duration.ofMinutes(1));
+        revocationList.revokeAllForUser(username, now, expiresAt);
+        principalCache.invalidate(username);
+        tokenRevocationRepository.save(new TokenRevocation(null, null, username, toLocal(now),
+                toLocal(expiresAt), LocalDateTime.now()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadRevocations()
+    {
+        LocalDateTime now = LocalDateTime.now();
+        apply(tokenRevocationRepository.findByExpiresAtAfter(now));
+        lastSync = now;
+    }
+
+    @Scheduled(fixedDelayString = "${api.security.revocation.sync-interval-ms:5000}",
+            initialDelayString = "${api.security.revocation.sync-interval-ms:5000}")
+    @Transactional // não readOnly: com réplicas, uma réplica atrasada faria perder revogações
+    public void syncRevocations()
+    {
+        LocalDateTime now = LocalDateTime.now();
+        if (lastSync != null) {
+            // Relê um intervalo a mais: transações que gravaram antes mas fizeram commit depois da última leitura.
+            apply(tokenRevocationRepository.findByCreatedAtGreaterThanEqualAndExpiresAtAfter(
+                    lastSync.minus(Duration.ofMillis(syncIntervalMillis)), now));
+        }
+        lastSync = now;
+    }
+
+    @Scheduled(fixedDelayString = "${api.security.revocation.prune-interval-ms:60000}")
+    @Transactional
+    public void pruneExpired()
+    {
+        revocationList.prune(Instant.now());
+        tokenRevocationRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    private void apply(List<TokenRevocation> revocations)
+    {
+        for (TokenRevocation revocation : revocations) {
+            Instant expiresAt = revocation.getExpiresAt().atZone(zone).toInstant();
+            if (revocation.getJti() != null) {
+                revocationList.revokeToken(revocation.getJti(), expiresAt);
+            } else if (revocation.getUsername() != null && revocation.getIssuedBefore() != null) {
+                revocationList.revokeAllForUser(revocation.getUsername(),
+                        revocation.getIssuedBefore().atZone(zone).toInstant(), expiresAt);
+                principalCache.invalidate(revocation.getUsername());
+            }
+        }
+    }
+
+    private LocalDateTime toLocal(Instant instant)
+    {
+        return LocalDateTime.ofInstant(instant, zone);
+    }
+}
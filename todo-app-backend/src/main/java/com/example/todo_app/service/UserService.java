@@ -1,6 +1,8 @@
 package com.example.todo_app.service;
 
+import com.example.todo_app.infra.csv.CsvWriter;
 import com.example.todo_app.models.dtos.AuthenticatorDTO;
+import com.example.todo_app.models.dtos.LoginResponseDTO;
 import com.example.todo_app.models.dtos.RegisterDTO;
 import com.example.todo_app.models.User;
 import com.example.todo_app.models.dtos.UserMeResponseDTO;
@@ -8,40 +10,119 @@ import com.example.todo_app.models.dtos.UserResponseDTO;
 import com.example.todo_app.repositories.TaskRepository;
 import com.example.todo_app.repositories.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import com.example.todo_app.infra.security.PasswordHashingExecutor;
+import com.example.todo_app.infra.security.UserPrincipal;
 import com.example.todo_app.infra.security.TokenService;
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 public class UserService
 {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "username", "email", "role");
+    private static final int EXPORT_FLUSH_INTERVAL = 1000;
+
     @Autowired
     private UserRepository userRepository;
     @Autowired
     private TaskRepository taskRepository;
     @Autowired
-    private BCryptPasswordEncoder bCryptPasswordEncoder;
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
     @Autowired
     private AuthenticationManager authenticationManager;
     @Autowired
     private TokenService tokenService;
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    @Autowired
+    private RefreshTokenService refreshTokenService;
 
-    private User getCurrentAuthenticatedUser(){
-        return (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    private UserPrincipal getCurrentAuthenticatedUser(){
+        return (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    }
+
+    @Transactional(readOnly = true)
+    public Page<UserResponseDTO> findUserPage(String query, Pageable pageable)
+    {
+        Sort sort = pageable.getSort().isSorted() ? pageable.getSort() : Sort.by("id");
+        for (Sort.Order order : sort) {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Campo de ordenação inválido: " + order.getProperty());
+            }
+        }
+        int pageSize = Math.max(1, Math.min(pageable.getPageSize(), MAX_PAGE_SIZE));
+
+        return userRepository.findResponsePage(toPrefixPattern(query), PageRequest.of(pageable.getPageNumber(), pageSize, sort));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<UserResponseDTO> findUserById(Long id) { return userRepository.findResponseById(id); }
+
+    @Transactional(readOnly = true)
+    public void exportUsersCsv(String query, OutputStream out) throws IOException
+    {
+        CsvWriter csv = new CsvWriter(out);
+        csv.writeRow("id", "username", "email", "role");
+
+        try (Stream<UserResponseDTO> users = userRepository.streamResponses(toPrefixPattern(query))) {
+            int written = 0;
+            for (UserResponseDTO user : (Iterable<UserResponseDTO>) users::iterator) {
+                csv.writeRow(user.id(), user.username(), user.email(), user.role());
+                if (++written % EXPORT_FLUSH_INTERVAL == 0) {
+                    csv.flush();
+                }
+            }
+        }
+        csv.flush();
     }
 
-    public List<User> findAll() { return userRepository.findAll(); }
+    private static String toPrefixPattern(String query)
+    {
+        if (query == null || query.isBlank()) {
+            return null;
+        }
+        String escaped = query.strip()
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+        return escaped + "%";
+    }
 
-    public Optional<User> findById(Long id) { return userRepository.findById(id); }
+    /**
+     * Perfil montado do principal do {@link com.example.todo_app.infra.security.UserPrincipalCache},
+     * sem consultar o banco; pode estar atrasado até ao TTL do cache. Serve para responder 304.
+     */
+    public UserMeResponseDTO getCachedUserProfile()
+    {
+        UserPrincipal user = getCurrentAuthenticatedUser();
+        return new UserMeResponseDTO(user.id(), user.username(), user.email(), user.role());
+    }
 
+    @Transactional(readOnly = true)
     public UserMeResponseDTO getAuthenticatedUserProfile()
     {
-        User currentUser = getCurrentAuthenticatedUser();
+        // A entidade vem do cache de segundo nível, se ativo.
+        User currentUser = userRepository.findById(getCurrentAuthenticatedUser().id())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Utilizador não encontrado."));
 
         return new UserMeResponseDTO(currentUser.getId(), currentUser.getUsername(), currentUser.getEmail(), currentUser.getRole());
     }
@@ -57,7 +138,7 @@ public class UserService
             throw new RuntimeException("Email already exists");
         }
 
-        String encodedPassword = bCryptPasswordEncoder.encode(data.password());
+        String encodedPassword = passwordHashingExecutor.execute(() -> passwordEncoder.encode(data.password()));
 
         User newUser = new User();
 
@@ -70,12 +151,39 @@ public class UserService
         userRepository.save(newUser);
     }
 
-    public String login(AuthenticatorDTO data)
+    public LoginResponseDTO login(AuthenticatorDTO data)
     {
         var usernamePassword = new UsernamePasswordAuthenticationToken(data.username(), data.password());
-        var auth = authenticationManager.authenticate(usernamePassword);
+        var auth = passwordHashingExecutor.execute(() -> authenticationManager.authenticate(usernamePassword));
+
+        return refreshTokenService.startSession((User) auth.getPrincipal());
+    }
+
+    public LoginResponseDTO refresh(String refreshToken)
+    {
+        return refreshTokenService.refresh(refreshToken);
+    }
+
+    public void logout(String token)
+    {
+        // Já revogado ou inválido: nada a fazer, o token não autentica mais.
+        tokenService.verify(token).ifPresent(claims -> {
+            tokenRevocationService.revokeToken(claims);
+            String sessionId = claims.get(TokenService.SESSION_CLAIM, String.class);
+            if (sessionId != null) {
+                refreshTokenService.revokeSession(sessionId);
+            }
+        });
+    }
+
+    @Transactional
+    public void revokeAllTokens(Long userId)
+    {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Utilizador não encontrado com o id " + userId));
 
-        return tokenService.generateToken((User) auth.getPrincipal());
+        tokenRevocationService.revokeAllForUser(user.getUsername());
+        refreshTokenService.revokeAllForUser(user.getId());
     }
 
 }
@@ -0,0 +1,6 @@
+-- Tarefas anteriores à V5 ficaram na revisão 0 e nunca apareciam em GET /tasks/changes?since=0.
+UPDATE tasks SET revision = 1 WHERE revision = 0;
+
+INSERT INTO task_versions (user_id, version)
+SELECT user_id, 1 FROM tasks GROUP BY user_id
+ON DUPLICATE KEY UPDATE version = GREATEST(version, 1);
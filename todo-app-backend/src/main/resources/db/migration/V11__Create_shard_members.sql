@@ -0,0 +1,6 @@
+-- Shards registados pela API MVC com app.sharding.enabled; a posição é o índice da faixa de ids.
+-- A API reativa só conhece o banco principal e recusa-se a arrancar se houver algum aqui.
+CREATE TABLE shard_members (
+                               position INT PRIMARY KEY,
+                               name VARCHAR(64) NOT NULL UNIQUE
+);
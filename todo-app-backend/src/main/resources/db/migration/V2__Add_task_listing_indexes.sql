@@ -0,0 +1,2 @@
+CREATE INDEX idx_tasks_user_status_data ON tasks (user_id, status, data);
+CREATE INDEX idx_tasks_user_id ON tasks (user_id, id);
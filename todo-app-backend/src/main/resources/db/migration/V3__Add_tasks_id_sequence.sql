@@ -0,0 +1,9 @@
+-- MySQL não tem sequences: o Hibernate emula a sequence "tasks_seq" com esta tabela.
+-- O otimizador pooled reserva blocos de 50 ids terminando em next_val, por isso o
+-- valor inicial fica 50 acima do maior id já usado.
+CREATE TABLE tasks_seq (
+                           next_val BIGINT
+);
+
+INSERT INTO tasks_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 51 FROM tasks;
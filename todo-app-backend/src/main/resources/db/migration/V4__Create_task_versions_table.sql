@@ -0,0 +1,8 @@
+CREATE TABLE task_versions (
+                               user_id BIGINT PRIMARY KEY,
+                               version BIGINT NOT NULL DEFAULT 0,
+                               CONSTRAINT fk_task_versions_users FOREIGN KEY (user_id) REFERENCES users(id)
+);
+
+INSERT INTO task_versions (user_id, version)
+SELECT id, 0 FROM users;
@@ -0,0 +1,10 @@
+ALTER TABLE tasks ADD COLUMN revision BIGINT NOT NULL DEFAULT 0;
+CREATE INDEX idx_tasks_user_revision ON tasks (user_id, revision);
+
+CREATE TABLE task_tombstones (
+                                 task_id BIGINT PRIMARY KEY,
+                                 user_id BIGINT NOT NULL,
+                                 revision BIGINT NOT NULL,
+                                 deleted_at DATETIME NOT NULL
+);
+CREATE INDEX idx_task_tombstones_user_revision ON task_tombstones (user_id, revision);
@@ -0,0 +1,12 @@
+-- Varredura dos lembretes: tarefas por data de vencimento, já ordenadas por (data, status, id).
+CREATE INDEX idx_tasks_data_status ON tasks (data, status);
+
+-- Um lembrete por tarefa e data de vencimento: a chave impede disparos repetidos
+-- após um restart ou com várias instâncias.
+CREATE TABLE reminder_log (
+                              task_id BIGINT NOT NULL,
+                              due_at DATETIME NOT NULL,
+                              fired_at DATETIME NOT NULL,
+                              PRIMARY KEY (task_id, due_at)
+);
+CREATE INDEX idx_reminder_log_due_at ON reminder_log (due_at);
@@ -0,0 +1,13 @@
+-- Revogações de JWT. Cada instância mantém a lista em memória e lê daqui as novas
+-- (de outras instâncias) periodicamente e tudo o que ainda vale ao arrancar.
+-- jti preenchido: um token; username + issued_before: todos os tokens emitidos antes disso.
+CREATE TABLE token_revocations (
+                                   id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                                   jti VARCHAR(64),
+                                   username VARCHAR(50),
+                                   issued_before DATETIME,
+                                   expires_at DATETIME NOT NULL,
+                                   created_at DATETIME NOT NULL
+);
+CREATE INDEX idx_token_revocations_created_at ON token_revocations (created_at);
+CREATE INDEX idx_token_revocations_expires_at ON token_revocations (expires_at);
@@ -0,0 +1,16 @@
+-- Refresh tokens de uso único. Só o SHA-256 do token é gravado; cada login abre uma família
+-- (family_id) e cada renovação marca o token usado e emite o seguinte na mesma família.
+-- Um token já usado que volta a aparecer revoga a família inteira.
+CREATE TABLE refresh_tokens (
+                                id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                                token_hash CHAR(64) NOT NULL UNIQUE,
+                                family_id CHAR(36) NOT NULL,
+                                user_id BIGINT NOT NULL,
+                                created_at DATETIME NOT NULL,
+                                expires_at DATETIME NOT NULL,
+                                used_at DATETIME,
+                                revoked_at DATETIME,
+                                CONSTRAINT fk_refresh_tokens_users FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+CREATE INDEX idx_refresh_tokens_family ON refresh_tokens (family_id);
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
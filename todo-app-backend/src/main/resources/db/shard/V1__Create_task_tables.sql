@@ -0,0 +1,45 @@
+-- Esquema dos shards de tarefas: as tabelas de tarefas do banco principal até V7, sem as chaves
+-- estrangeiras para users (os utilizadores só existem no principal). Alterações a estas tabelas
+-- precisam de uma migração aqui e outra em db/migration.
+CREATE TABLE tasks (
+                       id BIGINT PRIMARY KEY,
+                       title VARCHAR(50) NOT NULL,
+                       description VARCHAR(250),
+                       priority VARCHAR(255),
+                       data DATETIME,
+                       status VARCHAR(255),
+                       user_id BIGINT NOT NULL,
+                       revision BIGINT NOT NULL DEFAULT 0
+);
+CREATE INDEX idx_tasks_user_status_data ON tasks (user_id, status, data);
+CREATE INDEX idx_tasks_user_id ON tasks (user_id, id);
+CREATE INDEX idx_tasks_user_revision ON tasks (user_id, revision);
+CREATE INDEX idx_tasks_data_status ON tasks (data, status);
+ALTER TABLE tasks ADD FULLTEXT INDEX ft_tasks_title_description (title, description);
+
+-- Cada shard reserva ids na sua faixa (índice do shard << 40), definida por ShardingConfig.
+CREATE TABLE tasks_seq (
+                           next_val BIGINT
+);
+INSERT INTO tasks_seq (next_val) VALUES (${sequence_start});
+
+CREATE TABLE task_versions (
+                               user_id BIGINT PRIMARY KEY,
+                               version BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE TABLE task_tombstones (
+                                 task_id BIGINT PRIMARY KEY,
+                                 user_id BIGINT NOT NULL,
+                                 revision BIGINT NOT NULL,
+                                 deleted_at DATETIME NOT NULL
+);
+CREATE INDEX idx_task_tombstones_user_revision ON task_tombstones (user_id, revision);
+
+CREATE TABLE reminder_log (
+                              task_id BIGINT NOT NULL,
+                              due_at DATETIME NOT NULL,
+                              fired_at DATETIME NOT NULL,
+                              PRIMARY KEY (task_id, due_at)
+);
+CREATE INDEX idx_reminder_log_due_at ON reminder_log (due_at);
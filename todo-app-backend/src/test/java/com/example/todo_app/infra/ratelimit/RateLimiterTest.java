@@ -0,0 +1,89 @@
+package com.example.todo_app.infra.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimiterTest {
+
+    // Período longo: nenhum token é reposto durante o teste.
+    private static final Duration HOUR = Duration.ofHours(1);
+
+    @Test
+    void allowsTheWholeBurstThenAsksToWaitOneInterval() {
+        RateLimiter limiter = new RateLimiter("test", 5, HOUR, 100);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("user")).isZero();
+        }
+
+        long wait = limiter.tryAcquire("user");
+        assertThat(wait).isPositive().isLessThanOrEqualTo(HOUR.toNanos() / 5);
+    }
+
+    @Test
+    void rejectedAttemptsDoNotConsumeTokens() {
+        RateLimiter limiter = new RateLimiter("test", 1, HOUR, 100);
+        assertThat(limiter.tryAcquire("user")).isZero();
+
+        long first = limiter.tryAcquire("user");
+        long second = limiter.tryAcquire("user");
+
+        // Se a recusa consumisse, a espera cresceria um intervalo inteiro.
+        assertThat(second).isLessThanOrEqualTo(first);
+    }
+
+    @Test
+    void keysHaveIndependentBuckets() {
+        RateLimiter limiter = new RateLimiter("test", 1, HOUR, 100);
+
+        assertThat(limiter.tryAcquire("alice")).isZero();
+        assertThat(limiter.tryAcquire("alice")).isPositive();
+        assertThat(limiter.tryAcquire("bob")).isZero();
+    }
+
+    @Test
+    void refillsAfterTheInterval() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter("test", 1, Duration.ofMillis(200), 100);
+        assertThat(limiter.tryAcquire("user")).isZero();
+        assertThat(limiter.tryAcquire("user")).isPositive();
+
+        Thread.sleep(250);
+
+        assertThat(limiter.tryAcquire("user")).isZero();
+    }
+
+    @Test
+    void newKeysBeyondMaxKeysShareTheOverflowBucket() {
+        RateLimiter limiter = new RateLimiter("test", 1, HOUR, 2);
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("b")).isZero();
+
+        // a e b estão vazios, não podem ser descartados: c e d caem no mesmo bucket.
+        assertThat(limiter.tryAcquire("c")).isZero();
+        assertThat(limiter.tryAcquire("d")).isPositive();
+        assertThat(limiter.size()).isEqualTo(3);
+    }
+
+    @Test
+    void fullBucketsAreEvictedToMakeRoomForNewKeys() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter("test", 1, Duration.ofMillis(200), 1);
+        assertThat(limiter.tryAcquire("a")).isZero();
+
+        Thread.sleep(250);
+
+        // a já voltou a estar cheio: sai e b ganha um bucket próprio, não o de overflow.
+        assertThat(limiter.tryAcquire("b")).isZero();
+        assertThat(limiter.tryAcquire("c")).isZero();
+        assertThat(limiter.size()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsNonPositiveCapacity() {
+        assertThatThrownBy(() -> new RateLimiter("test", 0, HOUR, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
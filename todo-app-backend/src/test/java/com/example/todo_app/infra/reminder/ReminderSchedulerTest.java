@@ -0,0 +1,154 @@
+package com.example.todo_app.infra.reminder;
+
+import com.example.todo_app.infra.sharding.ShardRouter;
+import com.example.todo_app.models.dtos.TaskReminderDTO;
+import com.example.todo_app.models.enums.Status;
+import com.example.todo_app.repositories.ReminderLogRepository;
+import com.example.todo_app.repositories.TaskDueRow;
+import com.example.todo_app.repositories.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReminderSchedulerTest {
+
+    private static final long TASK_ID = 42L;
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(30);
+    private static final long NOW = Instant.parse("2026-03-02T09:00:00Z").toEpochMilli();
+    private static final LocalDateTime DUE_AT = LocalDateTime.ofInstant(Instant.ofEpochMilli(NOW - 5_000), ZoneId.systemDefault());
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ReminderLogRepository reminderLogRepository;
+
+    @Mock
+    private ReminderSink sink;
+
+    @Mock
+    private ShardRouter shardRouter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TaskDueRow dueRow;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TaskReminderDTO reminder = new TaskReminderDTO(TASK_ID, 7L, "Pagar contas", DUE_AT, Status.Fazer);
+    private ReminderScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        when(shardRouter.shards()).thenReturn(List.of("main"));
+        when(shardRouter.callOn(anyString(), any())).thenAnswer(call -> call.<Supplier<?>>getArgument(1).get());
+        lenient().doAnswer(call -> {
+            call.<Runnable>getArgument(1).run();
+            return null;
+        }).when(shardRouter).runOn(anyString(), any());
+
+        // Uma tarefa já vencida na primeira varredura; depois a janela está vazia.
+        when(dueRow.getId()).thenReturn(TASK_ID);
+        when(dueRow.getData()).thenReturn(DUE_AT);
+        lenient().when(dueRow.getStatus()).thenReturn(Status.Fazer.name());
+        when(taskRepository.findDueAfter(any(), any(), anyLong(), any(), anyInt()))
+                .thenReturn(List.of(dueRow), List.of());
+        when(taskRepository.findRemindersByIdIn(anyList())).thenReturn(List.of(reminder));
+        when(reminderLogRepository.claim(eq(TASK_ID), eq(DUE_AT), any())).thenReturn(1);
+
+        scheduler = new ReminderScheduler(taskRepository, reminderLogRepository, sink, shardRouter, transactionManager,
+                meterRegistry, Duration.ofSeconds(1), Duration.ofHours(1), Duration.ZERO, Duration.ofHours(1),
+                Duration.ofDays(7), RETRY_DELAY, 1_000, 500);
+    }
+
+    @AfterEach
+    void stop() {
+        scheduler.stop();
+    }
+
+    private double dispatched(String outcome) {
+        return meterRegistry.get("reminders.dispatched").tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    void failedClaimTransactionRequeuesTheReminder() throws Exception {
+        // Primeiro commit: a leitura da janela. O segundo, da reserva, falha (ex.: deadlock) e o
+        // rollback desfaz o INSERT no reminder_log.
+        doNothing().doThrow(new CannotAcquireLockException("deadlock")).doNothing().when(transactionManager).commit(any());
+
+        scheduler.tick(NOW);
+        verify(sink, never()).send(anyList());
+        assertThat(dispatched("retried")).isEqualTo(1);
+
+        scheduler.tick(NOW + RETRY_DELAY.toMillis() - 1_000);
+        verify(sink, never()).send(anyList());
+
+        scheduler.tick(NOW + RETRY_DELAY.toMillis());
+        verify(sink).send(List.of(reminder));
+        assertThat(dispatched("sent")).isEqualTo(1);
+    }
+
+    @Test
+    void failedSendReleasesTheClaimAndRetries() throws Exception {
+        doThrow(new IllegalStateException("SMTP indisponível")).doNothing().when(sink).send(anyList());
+
+        scheduler.tick(NOW);
+        verify(reminderLogRepository).release(TASK_ID, DUE_AT);
+        assertThat(dispatched("failed")).isEqualTo(1);
+
+        scheduler.tick(NOW + RETRY_DELAY.toMillis());
+        verify(sink, times(2)).send(List.of(reminder));
+        assertThat(dispatched("sent")).isEqualTo(1);
+    }
+
+    @Test
+    void failedWindowLoadStillFiresWhatIsAlreadyDue() throws Exception {
+        doNothing().when(transactionManager).commit(any());
+        scheduler.tick(NOW);
+        verify(sink).send(List.of(reminder));
+
+        // Um lembrete novo na roda e a varredura seguinte a falhar: ele dispara na mesma.
+        LocalDateTime later = DUE_AT.plusSeconds(10);
+        TaskReminderDTO laterReminder = new TaskReminderDTO(TASK_ID, 7L, "Pagar contas", later, Status.Fazer);
+        when(dueRow.getData()).thenReturn(later);
+        when(taskRepository.findDueAfter(any(), any(), anyLong(), any(), anyInt()))
+                .thenReturn(List.of(dueRow))
+                .thenThrow(new CannotAcquireLockException("réplica indisponível"));
+        when(taskRepository.findRemindersByIdIn(anyList())).thenReturn(List.of(laterReminder));
+        when(reminderLogRepository.claim(eq(TASK_ID), eq(later), any())).thenReturn(1);
+        scheduler.tick(NOW + 1_000);
+
+        scheduler.tick(NOW + 6_000);
+        verify(sink).send(List.of(laterReminder));
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.todo_app.infra.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimerWheelTest {
+
+    // Tick de 10 ms e 4 posições: o nível 0 cobre 40 ms, o 1 cobre 160 ms, o 2 cobre 640 ms...
+    private static final long TICK = 10;
+    private static final int WHEEL_SIZE = 4;
+    private static final long START = 1_000_003;
+
+    private final List<long[]> fired = new ArrayList<>();
+
+    private void advance(TimerWheel wheel, long now) {
+        wheel.advanceTo(now, (id, due) -> fired.add(new long[]{id, due, now}));
+    }
+
+    @Test
+    void refusesEntriesAlreadyDueWithinTheCurrentTick() {
+        TimerWheel wheel = new TimerWheel(TICK, WHEEL_SIZE, START);
+        long tickStart = START - START % TICK;
+
+        assertThat(wheel.schedule(1, START - 60_000)).isFalse();
+        assertThat(wheel.schedule(2, tickStart)).isFalse();
+        assertThat(wheel.schedule(3, tickStart + TICK - 1)).isFalse();
+        assertThat(wheel.schedule(4, tickStart + TICK)).isTrue();
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    void firesAnEntryOnTheTickThatContainsItsDueTime() {
+        TimerWheel wheel = new TimerWheel(TICK, WHEEL_SIZE, START);
+        long due = START + 25;
+        long tickStart = due - due % TICK;
+        wheel.schedule(7, due);
+
+        advance(wheel, tickStart - 1);
+        assertThat(fired).isEmpty();
+
+        advance(wheel, tickStart);
+        assertThat(fired).hasSize(1);
+        assertThat(fired.get(0)[0]).isEqualTo(7);
+        assertThat(fired.get(0)[1]).isEqualTo(due);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cascadesEntriesFromUpperLevelsDownToTheirTick() {
+        TimerWheel wheel = new TimerWheel(TICK, WHEEL_SIZE, START);
+        // Um por nível: 0 (< 40 ms), 1 (< 160 ms), 2 (< 640 ms) e 3 (< 2560 ms).
+        long[] dues = {START + 30, START + 150, START + 600, START + 2_000};
+        for (int i = 0; i < dues.length; i++) {
+            assertThat(wheel.schedule(i, dues[i])).isTrue();
+        }
+
+        Map<Long, Long> firedAt = new HashMap<>();
+        for (long now = START; now <= START + 2_100; now++) {
+            advance(wheel, now);
+            fired.forEach(entry -> firedAt.put(entry[0], entry[2]));
+            fired.clear();
+        }
+
+        assertThat(firedAt).hasSize(dues.length);
+        for (int i = 0; i < dues.length; i++) {
+            // Avançando de 1 em 1 ms, cada entrada sai exatamente no início do tick da sua data.
+            assertThat(firedAt.get((long) i)).isEqualTo(dues[i] - dues[i] % TICK);
+        }
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void firesEveryEntryExactlyOnceWithIrregularAdvances() {
+        TimerWheel wheel = new TimerWheel(TICK, WHEEL_SIZE, START);
+        Random random = new Random(42);
+        Map<Long, Long> dues = new HashMap<>();
+        for (long id = 0; id < 2_000; id++) {
+            long due = START + TICK + random.nextInt(20_000);
+            dues.put(id, due);
+            assertThat(wheel.schedule(id, due)).isTrue();
+        }
+        assertThat(wheel.size()).isEqualTo(dues.size());
+
+        long previous = START;
+        while (previous < START + 21_000) {
+            long now = previous + 1 + random.nextInt(500);
+            advance(wheel, now);
+            for (long[] entry : fired) {
+                long tickStart = entry[1] - entry[1] % TICK;
+                // Nem antes do tick da data, nem depois do avanço que passou por ele.
+                assertThat(tickStart).isLessThanOrEqualTo(now).isGreaterThan(previous);
+                assertThat(dues.remove(entry[0])).isEqualTo(entry[1]);
+            }
+            fired.clear();
+            previous = now;
+        }
+
+        assertThat(dues).isEmpty();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void entriesScheduledAfterAdvancingStillFire() {
+        TimerWheel wheel = new TimerWheel(TICK, WHEEL_SIZE, START);
+        advance(wheel, START + 5_000);
+
+        long due = START + 5_000 + 700;
+        assertThat(wheel.schedule(1, due)).isTrue();
+        advance(wheel, due);
+
+        assertThat(fired).hasSize(1);
+        assertThat(fired.get(0)[0]).isEqualTo(1);
+    }
+
+    @Test
+    void clearDropsPendingEntries() {
+        TimerWheel wheel = new TimerWheel(TICK, WHEEL_SIZE, START);
+        wheel.schedule(1, START + 100);
+        wheel.schedule(2, START + 10_000);
+
+        wheel.clear(START);
+        advance(wheel, START + 20_000);
+
+        assertThat(fired).isEmpty();
+        assertThat(wheel.size()).isZero();
+    }
+}
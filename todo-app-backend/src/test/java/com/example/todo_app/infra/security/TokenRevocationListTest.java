@@ -0,0 +1,87 @@
+package com.example.todo_app.infra.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationListTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-15T12:00:00Z");
+
+    private final TokenRevocationList list = new TokenRevocationList(new SimpleMeterRegistry(), 16);
+
+    @Test
+    void rejectsRevokedJtiAndAcceptsOthers() {
+        list.revokeToken("revoked", NOW.plusSeconds(60));
+
+        assertThat(list.isRevoked("revoked", "alice", NOW)).isTrue();
+        assertThat(list.isRevoked("other", "alice", NOW)).isFalse();
+        assertThat(list.isRevoked(null, "alice", NOW)).isFalse();
+    }
+
+    @Test
+    void userRevocationCoversTokensIssuedUpToTheSameSecond() {
+        Instant revokedAt = NOW.plusMillis(400);
+        list.revokeAllForUser("alice", revokedAt, NOW.plus(Duration.ofHours(2)));
+
+        assertThat(list.isRevoked("a", "alice", NOW.minusSeconds(30))).isTrue();
+        // O iat do JWT só tem segundos: um token do mesmo segundo pode ser anterior à revogação.
+        assertThat(list.isRevoked("b", "alice", NOW)).isTrue();
+        assertThat(list.isRevoked("c", "alice", NOW.plusSeconds(1))).isFalse();
+        assertThat(list.isRevoked("d", "alice", null)).isTrue();
+        assertThat(list.isRevoked("e", "bob", NOW.minusSeconds(30))).isFalse();
+    }
+
+    @Test
+    void pruneKeepsEveryUnexpiredRevocation() {
+        // Mais revogações que a capacidade prevista, para forçar a reconstrução com outro tamanho.
+        for (int i = 0; i < 1_000; i++) {
+            Instant expiresAt = i % 2 == 0 ? NOW.minusSeconds(1) : NOW.plusSeconds(3_600);
+            list.revokeToken("jti-" + i, expiresAt);
+        }
+        list.revokeAllForUser("expired", NOW.minusSeconds(7_200), NOW.minusSeconds(1));
+        list.revokeAllForUser("alice", NOW, NOW.plusSeconds(3_600));
+
+        list.prune(NOW);
+
+        for (int i = 1; i < 1_000; i += 2) {
+            assertThat(list.isRevoked("jti-" + i, null, NOW)).as("jti-%d", i).isTrue();
+        }
+        assertThat(list.isRevoked("x", "alice", NOW.minusSeconds(10))).isTrue();
+        assertThat(list.isRevoked("y", "expired", NOW.minusSeconds(10_000))).isFalse();
+        assertThat(list.size()).isEqualTo(500 + 1);
+    }
+
+    @Test
+    void prunedTokensAreNoLongerRevoked() {
+        list.revokeToken("old", NOW.minusSeconds(1));
+        list.prune(NOW);
+
+        assertThat(list.isRevoked("old", null, NOW)).isFalse();
+        assertThat(list.size()).isZero();
+    }
+
+    @Test
+    void revokingAgainKeepsTheLatestExpiry() {
+        list.revokeToken("jti", NOW.plusSeconds(3_600));
+        list.revokeToken("jti", NOW.plusSeconds(60));
+
+        list.prune(NOW.plusSeconds(120));
+
+        assertThat(list.isRevoked("jti", null, NOW)).isTrue();
+    }
+
+    @Test
+    void revocationsAfterPruneAreSeen() {
+        list.revokeToken("before", NOW.plusSeconds(60));
+        list.prune(NOW);
+        list.revokeToken("after", NOW.plusSeconds(60));
+
+        assertThat(list.isRevoked("before", null, NOW)).isTrue();
+        assertThat(list.isRevoked("after", null, NOW)).isTrue();
+    }
+}
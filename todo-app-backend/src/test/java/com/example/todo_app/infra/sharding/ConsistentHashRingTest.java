@@ -0,0 +1,81 @@
+package com.example.todo_app.infra.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConsistentHashRingTest {
+
+    private static final int VIRTUAL_NODES = 160;
+    private static final int USERS = 100_000;
+
+    @Test
+    void addingAShardMovesAboutOneNthOfTheUsersAndOnlyToIt() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("main", "s1", "s2"), VIRTUAL_NODES);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("main", "s1", "s2", "s3"), VIRTUAL_NODES);
+
+        int moved = 0;
+        for (long userId = 1; userId <= USERS; userId++) {
+            String previous = before.shardFor(userId);
+            String current = after.shardFor(userId);
+            if (!previous.equals(current)) {
+                moved++;
+                // Nenhum utilizador troca entre os shards antigos.
+                assertThat(current).isEqualTo("s3");
+            }
+        }
+        // 1/4 esperado; a folga cobre a variação dos pontos virtuais.
+        assertThat((double) moved / USERS).isBetween(0.18, 0.32);
+    }
+
+    @Test
+    void spreadsSequentialIdsEvenly() {
+        List<String> shards = List.of("main", "s1", "s2", "s3");
+        ConsistentHashRing ring = new ConsistentHashRing(shards, VIRTUAL_NODES);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (long userId = 1; userId <= USERS; userId++) {
+            counts.merge(ring.shardFor(userId), 1, Integer::sum);
+        }
+
+        assertThat(counts.keySet()).containsExactlyInAnyOrderElementsOf(shards);
+        int fair = USERS / shards.size();
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(fair * 7 / 10, fair * 13 / 10));
+    }
+
+    @Test
+    void ownerDependsOnlyOnNamesAndIds() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("main", "s1", "s2"), VIRTUAL_NODES);
+        ConsistentHashRing same = new ConsistentHashRing(List.of("main", "s1", "s2"), VIRTUAL_NODES);
+        ConsistentHashRing reordered = new ConsistentHashRing(List.of("s2", "main", "s1"), VIRTUAL_NODES);
+
+        for (long userId = 1; userId <= 10_000; userId++) {
+            assertThat(same.shardFor(userId)).isEqualTo(ring.shardFor(userId));
+            assertThat(reordered.shardFor(userId)).isEqualTo(ring.shardFor(userId));
+        }
+    }
+
+    @Test
+    void singleShardOwnsEveryone() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("main"), VIRTUAL_NODES);
+
+        assertThat(ring.shardFor(1)).isEqualTo("main");
+        assertThat(ring.shardFor(Long.MAX_VALUE)).isEqualTo("main");
+        assertThat(ring.shardFor(-1)).isEqualTo("main");
+    }
+
+    @Test
+    void rejectsInvalidConfigurations() {
+        assertThatThrownBy(() -> new ConsistentHashRing(List.of(), VIRTUAL_NODES))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ConsistentHashRing(List.of("main"), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ConsistentHashRing(List.of("main", "s1", "main"), VIRTUAL_NODES))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.todo_app.infra.sse;
+
+import com.example.todo_app.models.dtos.TaskChangesDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskEventBrokerTest {
+
+    private static final long USER_ID = 7L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // Um único stream por utilizador: qualquer registo esquecido bloqueia o seguinte.
+    private final TaskEventBroker broker = new TaskEventBroker(meterRegistry, Duration.ofMinutes(1), 16, 1, 1);
+
+    @AfterEach
+    void shutdown() {
+        broker.shutdown();
+    }
+
+    private double openStreams() {
+        return meterRegistry.get("sse.task.streams").gauge().value();
+    }
+
+    @Test
+    void failedCatchUpDoesNotKeepTheStreamRegistered() {
+        assertThatThrownBy(() -> broker.subscribe(USER_ID, () -> {
+            throw new DataAccessResourceFailureException("réplica indisponível");
+        })).isInstanceOf(DataAccessResourceFailureException.class);
+
+        assertThat(openStreams()).isZero();
+        assertThat(broker.subscribe(USER_ID, () -> new TaskChangesDTO(3, List.of(), List.of(), false))).isNotNull();
+        assertThat(openStreams()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsStreamsBeyondThePerUserLimit() {
+        broker.subscribe(USER_ID, () -> new TaskChangesDTO(3, List.of(), List.of(), false));
+
+        assertThatThrownBy(() -> broker.subscribe(USER_ID, () -> new TaskChangesDTO(3, List.of(), List.of(), false)))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThat(openStreams()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.todo_app.infra.sse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskEventStreamTest {
+
+    private final List<String> sent = new ArrayList<>();
+
+    // Executor síncrono: cada offer é escrito antes de retornar.
+    private TaskEventStream stream(int bufferSize) {
+        return new TaskEventStream(new SseEmitter(), bufferSize, Runnable::run);
+    }
+
+    private Supplier<SseEmitter.SseEventBuilder> event(String label) {
+        return () -> {
+            sent.add(label);
+            return SseEmitter.event().name(label).data(label);
+        };
+    }
+
+    @Test
+    void sendsEveryItemOfABatchThatSharesARevision() {
+        TaskEventStream stream = stream(16);
+        stream.offerSync(event("sync"), 4);
+
+        stream.offer(event("task-1"), 5);
+        stream.offer(event("task-2"), 5);
+        stream.offer(event("task-3"), 5);
+
+        assertThat(sent).containsExactly("sync", "task-1", "task-2", "task-3");
+    }
+
+    @Test
+    void dropsEventsAlreadyCoveredBySync() {
+        TaskEventStream stream = stream(16);
+        stream.offerSync(event("sync"), 7);
+
+        stream.offer(event("covered"), 6);
+        stream.offer(event("covered-batch"), 7);
+        stream.offer(event("new"), 8);
+
+        assertThat(sent).containsExactly("sync", "new");
+    }
+
+    @Test
+    void sendsHeartbeatsRegardlessOfRevision() {
+        TaskEventStream stream = stream(16);
+        stream.offerSync(event("sync"), 3);
+
+        stream.offer(event("heartbeat"), 0);
+
+        assertThat(sent).containsExactly("sync", "heartbeat");
+    }
+
+    @Test
+    void closesInsteadOfDroppingWhenTheBufferIsFull() {
+        List<Runnable> scheduled = new ArrayList<>();
+        TaskEventStream stream = new TaskEventStream(new SseEmitter(), 2, scheduled::add);
+
+        stream.offer(event("a"), 1);
+        stream.offer(event("b"), 1);
+        stream.offer(event("overflow"), 1);
+        scheduled.forEach(Runnable::run);
+
+        assertThat(sent).isEmpty();
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.todo_app.service;
+
+import com.example.todo_app.infra.security.UserPrincipal;
+import com.example.todo_app.infra.sharding.ShardRouter;
+import com.example.todo_app.models.dtos.TaskChangesDTO;
+import com.example.todo_app.models.dtos.TaskOwnerDTO;
+import com.example.todo_app.repositories.TaskRepository;
+import com.example.todo_app.repositories.TaskTombstoneRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskServiceTest {
+
+    private static final long USER_ID = 7L;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskVersionService taskVersionService;
+
+    @Mock
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ShardRouter shardRouter;
+
+    @InjectMocks
+    private TaskService taskService;
+
+    @BeforeEach
+    void authenticate() {
+        UserPrincipal user = new UserPrincipal(USER_ID, "alice", "alice@example.com", "ROLE_USER", true);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    // As escritas bloqueiam task_versions antes das tarefas; a ordem inversa faz deadlock com um PUT.
+    @Test
+    void deleteTaskLocksTheVersionBeforeTheTask() {
+        when(taskVersionService.nextVersion(USER_ID)).thenReturn(3L);
+        when(taskRepository.deleteOwnedTask(10L, USER_ID)).thenReturn(1);
+
+        taskService.deleteTask(10L);
+
+        InOrder order = inOrder(taskVersionService, taskRepository, taskTombstoneRepository);
+        order.verify(taskVersionService).nextVersion(USER_ID);
+        order.verify(taskRepository).deleteOwnedTask(10L, USER_ID);
+        order.verify(taskTombstoneRepository).save(any());
+    }
+
+    @Test
+    void deleteTaskOfMissingTaskThrowsAfterTheVersionBump() {
+        when(taskVersionService.nextVersion(USER_ID)).thenReturn(3L);
+        when(taskRepository.deleteOwnedTask(10L, USER_ID)).thenReturn(0);
+
+        // A exceção faz rollback da transação, incluindo o incremento da versão.
+        assertThatThrownBy(() -> taskService.deleteTask(10L)).isInstanceOf(ResponseStatusException.class);
+
+        InOrder order = inOrder(taskVersionService, taskRepository);
+        order.verify(taskVersionService).nextVersion(USER_ID);
+        order.verify(taskRepository).deleteOwnedTask(10L, USER_ID);
+        verify(taskTombstoneRepository, never()).save(any());
+    }
+
+    @Test
+    void deleteTasksLocksTheVersionBeforeTheTasks() {
+        when(taskRepository.findOwnersByIdIn(List.of(10L, 11L)))
+                .thenReturn(List.of(new TaskOwnerDTO(10L, USER_ID), new TaskOwnerDTO(11L, USER_ID)));
+        when(taskVersionService.nextVersion(USER_ID)).thenReturn(3L);
+
+        taskService.deleteTasks(List.of(10L, 11L));
+
+        InOrder order = inOrder(taskVersionService, taskRepository, taskTombstoneRepository);
+        order.verify(taskVersionService).nextVersion(USER_ID);
+        order.verify(taskRepository).deleteAllByIdInBatch(List.of(10L, 11L));
+        order.verify(taskTombstoneRepository).saveAll(anyList());
+    }
+
+    @Test
+    void changesWithinTheLimitGoUpToTheCurrentRevision() {
+        when(taskVersionService.currentVersion(USER_ID)).thenReturn(9L);
+        when(taskRepository.findRevisionsChangedSince(eq(USER_ID), eq(4L), eq(9L), any(Limit.class)))
+                .thenReturn(revisions(5, 10, 9, 3));
+        when(taskTombstoneRepository.findRevisionsDeletedSince(eq(USER_ID), eq(4L), eq(9L), any(Limit.class)))
+                .thenReturn(revisions(6, 2));
+
+        TaskChangesDTO changes = taskService.findChangesSince(4);
+
+        assertThat(changes.revision()).isEqualTo(9);
+        assertThat(changes.hasMore()).isFalse();
+        verify(taskRepository).findChangedSince(USER_ID, 4L, 9L);
+        verify(taskTombstoneRepository).findDeletedSince(USER_ID, 4L, 9L);
+    }
+
+    @Test
+    void changesBeyondTheLimitStopBeforeTheRevisionThatDoesNotFit() {
+        when(taskVersionService.currentVersion(USER_ID)).thenReturn(9L);
+        // Linhas por ordem de revisão: 1000 na 2, 1000 apagadas na 4 e a 2001.ª na 5.
+        when(taskRepository.findRevisionsChangedSince(eq(USER_ID), eq(0L), eq(9L), any(Limit.class)))
+                .thenReturn(revisions(2, 1000, 5, TaskService.MAX_CHANGES + 1 - 1000));
+        when(taskTombstoneRepository.findRevisionsDeletedSince(eq(USER_ID), eq(0L), eq(9L), any(Limit.class)))
+                .thenReturn(revisions(4, 1000));
+
+        TaskChangesDTO changes = taskService.findChangesSince(0);
+
+        assertThat(changes.revision()).isEqualTo(4);
+        assertThat(changes.hasMore()).isTrue();
+        verify(taskRepository).findChangedSince(USER_ID, 0L, 4L);
+        verify(taskTombstoneRepository).findDeletedSince(USER_ID, 0L, 4L);
+    }
+
+    @Test
+    void changesAlreadyCurrentSkipTheQueries() {
+        when(taskVersionService.currentVersion(USER_ID)).thenReturn(9L);
+
+        TaskChangesDTO changes = taskService.findChangesSince(9);
+
+        assertThat(changes.revision()).isEqualTo(9);
+        assertThat(changes.changed()).isEmpty();
+        verify(taskRepository, never()).findChangedSince(any(), anyLong(), anyLong());
+    }
+
+    // Pares (revisão, quantidade) já ordenados, como o repositório os devolve.
+    private static List<Long> revisions(long... revisionAndCount) {
+        List<Long> revisions = new ArrayList<>();
+        for (int i = 0; i < revisionAndCount.length; i += 2) {
+            revisions.addAll(Collections.nCopies((int) revisionAndCount[i + 1], revisionAndCount[i]));
+        }
+        return revisions;
+    }
+}
@@ -21,11 +21,20 @@ export const apiService = {
   },
 
   async getTasks(token: string): Promise<Task[]> {
-    const response = await fetch('http://localhost:8080/tasks', {
-      headers: { 'Authorization': `Bearer ${token}` },
-    });
-    if (!response.ok) throw new Error('Falha ao carregar as tarefas.');
-    return response.json();
+    const tasks: Task[] = [];
+    let cursor: string | null = null;
+    do {
+      const url = cursor
+        ? `http://localhost:8080/tasks?limit=500&cursor=${encodeURIComponent(cursor)}`
+        : 'http://localhost:8080/tasks?limit=500';
+      const response = await fetch(url, {
+        headers: { 'Authorization': `Bearer ${token}` },
+      });
+      if (!response.ok) throw new Error('Falha ao carregar as tarefas.');
+      tasks.push(...(await response.json()));
+      cursor = response.headers.get('X-Next-Cursor');
+    } while (cursor);
+    return tasks;
   },
 
   async createTask(token: string, taskData: TaskCreateData): Promise<Task> {
@@ -0,0 +1,17 @@
+package com.example.todo_app.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Sem login aqui: os utilizadores vêm do JWT emitido pela API MVC.
+@SpringBootApplication(exclude = ReactiveUserDetailsServiceAutoConfiguration.class)
+@EnableScheduling
+public class TodoAppReactiveApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(TodoAppReactiveApplication.class, args);
+	}
+
+}
@@ -0,0 +1,36 @@
+package com.example.todo_app.reactive.config;
+
+import com.example.todo_app.reactive.handler.TaskHandler;
+import com.example.todo_app.reactive.handler.UserHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.contentType;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+@Configuration
+public class RouterConfig {
+
+    @Bean
+    public RouterFunction<ServerResponse> taskRoutes(TaskHandler taskHandler)
+    {
+        return route()
+                .path("/tasks", builder -> builder
+                        .GET("", taskHandler::getAllTasks)
+                        .POST("", contentType(MediaType.APPLICATION_JSON), taskHandler::createTask)
+                        .PUT("/{taskId}", contentType(MediaType.APPLICATION_JSON), taskHandler::updateTask)
+                        .DELETE("/{taskId}", taskHandler::deleteTask))
+                .build();
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> userRoutes(UserHandler userHandler)
+    {
+        return route()
+                .GET("/users/me", userHandler::getMyProfile)
+                .build();
+    }
+}
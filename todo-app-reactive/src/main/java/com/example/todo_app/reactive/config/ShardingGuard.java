@@ -0,0 +1,29 @@
+package com.example.todo_app.reactive.config;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * A API reativa só conhece o banco principal. Com app.sharding.enabled a API MVC regista os shards
+ * em shard_members e move tarefas para fora do principal; servir daqui devolveria listas incompletas
+ * e criaria tarefas no shard errado, então o arranque falha antes de o Netty aceitar pedidos.
+ */
+@Component
+public class ShardingGuard
+{
+    private static final Duration CHECK_TIMEOUT = Duration.ofSeconds(30);
+
+    public ShardingGuard(DatabaseClient databaseClient)
+    {
+        Long shards = databaseClient.sql("SELECT COUNT(*) AS shards FROM shard_members")
+                .map(row -> row.get("shards", Long.class))
+                .one()
+                .block(CHECK_TIMEOUT);
+        if (shards != null && shards > 0) {
+            throw new IllegalStateException("Há " + shards + " shard(s) registado(s) em shard_members;"
+                    + " a API reativa lê e escreve apenas no banco principal e não pode servir tarefas particionadas");
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.todo_app.reactive.handler;
+
+import com.example.todo_app.reactive.models.dtos.TaskCreateDTO;
+import com.example.todo_app.reactive.models.dtos.TaskFilterDTO;
+import com.example.todo_app.reactive.models.dtos.TaskUpdateDTO;
+import com.example.todo_app.reactive.models.enums.Priority;
+import com.example.todo_app.reactive.models.enums.Status;
+import com.example.todo_app.reactive.service.TaskService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Handlers de /tasks com o mesmo contrato do TaskController da API MVC
+ * (parâmetros, cabeçalhos X-Next-Cursor e ETag, códigos de estado).
+ */
+@Component
+public class TaskHandler {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final TaskService taskService;
+    private final Validator validator;
+
+    public TaskHandler(TaskService taskService, Validator validator)
+    {
+        this.taskService = taskService;
+        this.validator = validator;
+    }
+
+    public Mono<ServerResponse> getAllTasks(ServerRequest request)
+    {
+        var filter = new TaskFilterDTO(
+                param(request, "status", Status::valueOf),
+                param(request, "priority", Priority::valueOf),
+                param(request, "dueFrom", LocalDate::parse),
+                param(request, "dueTo", LocalDate::parse));
+        String cursor = request.queryParam("cursor").orElse(null);
+        Integer limit = param(request, "limit", Integer::valueOf);
+
+        // Mesma variante da API MVC: a ETag de uma listagem vale nas duas.
+        String variant = request.queryParams().entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + String.join(",", entry.getValue()))
+                .sorted()
+                .collect(Collectors.joining("&"));
+
+        return taskService.taskListETag(variant).flatMap(etag -> request.checkNotModified(etag)
+                .switchIfEmpty(Mono.defer(() -> taskService.findTaskPageForUser(filter, cursor, limit)
+                        .flatMap(page -> {
+                            var response = ServerResponse.ok()
+                                    .eTag(etag)
+                                    .cacheControl(CacheControl.noCache().cachePrivate());
+                            if (page.nextCursor() != null) {
+                                response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+                            }
+                            return response.bodyValue(page.items());
+                        }))));
+    }
+
+    public Mono<ServerResponse> createTask(ServerRequest request)
+    {
+        return request.bodyToMono(TaskCreateDTO.class)
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Corpo da requisição ausente.")))
+                .doOnNext(this::validate)
+                .flatMap(taskService::createTask)
+                .flatMap(task -> ServerResponse.status(HttpStatus.CREATED).bodyValue(task));
+    }
+
+    public Mono<ServerResponse> updateTask(ServerRequest request)
+    {
+        Long taskId = taskId(request);
+
+        return request.bodyToMono(TaskUpdateDTO.class)
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Corpo da requisição ausente.")))
+                .flatMap(task -> taskService.updateTask(task, taskId))
+                .flatMap(task -> ServerResponse.ok().bodyValue(task));
+    }
+
+    public Mono<ServerResponse> deleteTask(ServerRequest request)
+    {
+        return taskService.deleteTask(taskId(request))
+                .then(ServerResponse.noContent().build());
+    }
+
+    private void validate(Object body)
+    {
+        Set<ConstraintViolation<Object>> violations = validator.validate(body);
+        if (!violations.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+    }
+
+    private static Long taskId(ServerRequest request)
+    {
+        try {
+            return Long.valueOf(request.pathVariable("taskId"));
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Id de tarefa inválido.");
+        }
+    }
+
+    private static <T> T param(ServerRequest request, String name, Function<String, T> parser)
+    {
+        String value = request.queryParam(name).filter(v -> !v.isBlank()).orElse(null);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Valor inválido para o parâmetro " + name + ": " + value);
+        }
+    }
+}
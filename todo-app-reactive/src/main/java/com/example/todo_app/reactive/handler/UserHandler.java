@@ -0,0 +1,29 @@
+package com.example.todo_app.reactive.handler;
+
+import com.example.todo_app.reactive.models.dtos.UserMeResponseDTO;
+import com.example.todo_app.reactive.service.ETags;
+import com.example.todo_app.reactive.service.TaskService;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+@Component
+public class UserHandler {
+
+    public Mono<ServerResponse> getMyProfile(ServerRequest request)
+    {
+        return TaskService.getCurrentAuthenticatedUser()
+                .map(user -> new UserMeResponseDTO(user.id(), user.username(), user.email(), user.role()))
+                .flatMap(userProfile -> {
+                    String etag = ETags.json("u" + userProfile.id(),
+                            String.join("\n", userProfile.username(), String.valueOf(userProfile.email()), userProfile.role()));
+                    return request.checkNotModified(etag)
+                            .switchIfEmpty(Mono.defer(() -> ServerResponse.ok()
+                                    .eTag(etag)
+                                    .cacheControl(CacheControl.noCache().cachePrivate())
+                                    .bodyValue(userProfile)));
+                });
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.todo_app.reactive.models;
+
+import com.example.todo_app.reactive.models.enums.Priority;
+import com.example.todo_app.reactive.models.enums.Status;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Linha da tabela tasks. O id vem do {@code TaskIdAllocator} (a mesma tasks_seq do Hibernate),
+ * por isso as inserções são feitas com {@code R2dbcEntityTemplate.insert} e nunca com save.
+ */
+@Table("tasks")
+public record Task(
+        @Id Long id,
+        String title,
+        String description,
+        Priority priority,
+        LocalDateTime data,
+        Status status,
+        @Column("user_id") Long userId,
+        long revision
+) {}
@@ -0,0 +1,15 @@
+package com.example.todo_app.reactive.models;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Table("task_tombstones")
+public record TaskTombstone(
+        @Id @Column("task_id") Long taskId,
+        @Column("user_id") Long userId,
+        long revision,
+        @Column("deleted_at") LocalDateTime deletedAt
+) {}
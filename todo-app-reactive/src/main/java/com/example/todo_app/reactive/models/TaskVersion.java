@@ -0,0 +1,11 @@
+package com.example.todo_app.reactive.models;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("task_versions")
+public record TaskVersion(
+        @Id @Column("user_id") Long userId,
+        long version
+) {}
@@ -0,0 +1,18 @@
+package com.example.todo_app.reactive.models;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+// Gravadas pela API MVC (logout, revoke-tokens); aqui só são lidas.
+@Table("token_revocations")
+public record TokenRevocation(
+        @Id Long id,
+        String jti,
+        String username,
+        @Column("issued_before") LocalDateTime issuedBefore,
+        @Column("expires_at") LocalDateTime expiresAt,
+        @Column("created_at") LocalDateTime createdAt
+) {}
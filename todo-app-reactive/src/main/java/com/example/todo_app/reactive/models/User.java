@@ -0,0 +1,13 @@
+package com.example.todo_app.reactive.models;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("users")
+public record User(
+        @Id Long id,
+        String username,
+        String email,
+        String role,
+        boolean enabled
+) {}
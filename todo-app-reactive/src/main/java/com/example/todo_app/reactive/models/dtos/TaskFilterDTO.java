@@ -0,0 +1,13 @@
+package com.example.todo_app.reactive.models.dtos;
+
+import com.example.todo_app.reactive.models.enums.Priority;
+import com.example.todo_app.reactive.models.enums.Status;
+
+import java.time.LocalDate;
+
+public record TaskFilterDTO(
+        Status status,
+        Priority priority,
+        LocalDate dueFrom,
+        LocalDate dueTo
+) {}
@@ -0,0 +1,25 @@
+package com.example.todo_app.reactive.models.dtos;
+
+import com.example.todo_app.reactive.models.Task;
+import com.example.todo_app.reactive.models.enums.Priority;
+import com.example.todo_app.reactive.models.enums.Status;
+
+import java.time.LocalDateTime;
+
+public record TaskResponseDTO(
+        Long id,
+        String title,
+        String description,
+        Priority priority,
+        LocalDateTime data,
+        Status status
+
+) {
+    public static TaskResponseDTO from(Task task) {
+        return new TaskResponseDTO(
+                task.id(), task.title(),
+                task.description(), task.priority(),
+                task.data(), task.status()
+        );
+    }
+}
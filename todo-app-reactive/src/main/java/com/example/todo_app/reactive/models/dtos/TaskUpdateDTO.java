@@ -0,0 +1,14 @@
+package com.example.todo_app.reactive.models.dtos;
+
+import com.example.todo_app.reactive.models.enums.Priority;
+import com.example.todo_app.reactive.models.enums.Status;
+
+import java.time.LocalDate;
+
+public record TaskUpdateDTO (
+        String title,
+        String description,
+        Priority priority,
+        LocalDate dueDate,
+        Status status
+) {}
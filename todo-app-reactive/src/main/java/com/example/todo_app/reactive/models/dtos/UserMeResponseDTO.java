@@ -0,0 +1,9 @@
+package com.example.todo_app.reactive.models.dtos;
+
+public record UserMeResponseDTO (
+        Long id,
+        String username,
+        String email,
+        String role
+){
+}
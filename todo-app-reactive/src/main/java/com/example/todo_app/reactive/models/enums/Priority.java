@@ -0,0 +1,8 @@
+package com.example.todo_app.reactive.models.enums;
+
+public enum Priority {
+    Nenhuma,
+    Baixa,
+    Media,
+    Alta
+}
@@ -0,0 +1,7 @@
+package com.example.todo_app.reactive.models.enums;
+
+public enum Status {
+    Fazer,
+    Fazendo,
+    Feito
+}
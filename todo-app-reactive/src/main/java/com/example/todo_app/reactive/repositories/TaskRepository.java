@@ -0,0 +1,41 @@
+package com.example.todo_app.reactive.repositories;
+
+import com.example.todo_app.reactive.models.Task;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface TaskRepository extends ReactiveCrudRepository<Task, Long>, TaskTemplateRepository
+{
+
+    // Enums chegam como String: o driver não sabe o tipo de um null de enum.
+    @Modifying
+    @Query("""
+            UPDATE tasks SET
+                title = COALESCE(:title, title),
+                description = COALESCE(:description, description),
+                priority = COALESCE(:priority, priority),
+                status = COALESCE(:status, status),
+                data = COALESCE(:data, data),
+                revision = :revision
+            WHERE id = :id AND user_id = :userId
+            """)
+    Mono<Integer> updateOwnedTask(@Param("id") Long id,
+                                  @Param("userId") Long userId,
+                                  @Param("revision") long revision,
+                                  @Param("title") String title,
+                                  @Param("description") String description,
+                                  @Param("priority") String priority,
+                                  @Param("status") String status,
+                                  @Param("data") LocalDateTime data);
+
+    @Modifying
+    @Query("DELETE FROM tasks WHERE id = :id AND user_id = :userId")
+    Mono<Integer> deleteOwnedTask(@Param("id") Long id, @Param("userId") Long userId);
+}
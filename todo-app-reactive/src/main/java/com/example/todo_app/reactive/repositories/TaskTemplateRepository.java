@@ -0,0 +1,24 @@
+package com.example.todo_app.reactive.repositories;
+
+import com.example.todo_app.reactive.models.Task;
+import com.example.todo_app.reactive.models.enums.Priority;
+import com.example.todo_app.reactive.models.enums.Status;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Consultas montadas com {@code R2dbcEntityTemplate}: a listagem só inclui no WHERE os filtros
+ * informados e a inserção usa o id já alocado em vez de deixar o banco gerá-lo.
+ */
+public interface TaskTemplateRepository
+{
+
+    Flux<Task> findPageByUserId(Long userId, Long afterId,
+                                Status status, Priority priority,
+                                LocalDateTime dueFrom, LocalDateTime dueTo,
+                                int limit);
+
+    Mono<Task> insert(Task task);
+}
@@ -0,0 +1,46 @@
+package com.example.todo_app.reactive.repositories;
+
+import com.example.todo_app.reactive.models.Task;
+import com.example.todo_app.reactive.models.enums.Priority;
+import com.example.todo_app.reactive.models.enums.Status;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+class TaskTemplateRepositoryImpl implements TaskTemplateRepository
+{
+    private final R2dbcEntityTemplate template;
+
+    TaskTemplateRepositoryImpl(R2dbcEntityTemplate template)
+    {
+        this.template = template;
+    }
+
+    @Override
+    public Flux<Task> findPageByUserId(Long userId, Long afterId,
+                                       Status status, Priority priority,
+                                       LocalDateTime dueFrom, LocalDateTime dueTo,
+                                       int limit)
+    {
+        Criteria criteria = Criteria.where("user_id").is(userId).and("id").greaterThan(afterId);
+        if (status != null) { criteria = criteria.and("status").is(status.name()); }
+        if (priority != null) { criteria = criteria.and("priority").is(priority.name()); }
+        if (dueFrom != null) { criteria = criteria.and("data").greaterThanOrEquals(dueFrom); }
+        if (dueTo != null) { criteria = criteria.and("data").lessThan(dueTo); }
+
+        return template.select(Task.class)
+                .matching(Query.query(criteria).sort(Sort.by("id")).limit(limit))
+                .all();
+    }
+
+    @Override
+    public Mono<Task> insert(Task task)
+    {
+        return template.insert(task);
+    }
+}
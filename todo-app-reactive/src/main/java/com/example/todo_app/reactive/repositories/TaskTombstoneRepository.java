@@ -0,0 +1,27 @@
+package com.example.todo_app.reactive.repositories;
+
+import com.example.todo_app.reactive.models.TaskTombstone;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface TaskTombstoneRepository extends ReactiveCrudRepository<TaskTombstone, Long>
+{
+
+    // Uma tarefa só é apagada uma vez, então o tombstone é sempre inserido (sem select prévio).
+    @Modifying
+    @Query("""
+            INSERT INTO task_tombstones (task_id, user_id, revision, deleted_at)
+            VALUES (:taskId, :userId, :revision, :deletedAt)
+            """)
+    Mono<Integer> insert(@Param("taskId") Long taskId,
+                         @Param("userId") Long userId,
+                         @Param("revision") long revision,
+                         @Param("deletedAt") LocalDateTime deletedAt);
+}
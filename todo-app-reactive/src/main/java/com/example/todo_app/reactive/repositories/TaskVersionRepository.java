@@ -0,0 +1,24 @@
+package com.example.todo_app.reactive.repositories;
+
+import com.example.todo_app.reactive.models.TaskVersion;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface TaskVersionRepository extends ReactiveCrudRepository<TaskVersion, Long>
+{
+
+    @Query("SELECT version FROM task_versions WHERE user_id = :userId")
+    Mono<Long> findVersionByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("""
+            INSERT INTO task_versions (user_id, version) VALUES (:userId, 1)
+            ON DUPLICATE KEY UPDATE version = version + 1
+            """)
+    Mono<Integer> incrementVersion(@Param("userId") Long userId);
+}
@@ -0,0 +1,17 @@
+package com.example.todo_app.reactive.repositories;
+
+import com.example.todo_app.reactive.models.TokenRevocation;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface TokenRevocationRepository extends ReactiveCrudRepository<TokenRevocation, Long>
+{
+
+    Flux<TokenRevocation> findByExpiresAtAfter(LocalDateTime now);
+
+    Flux<TokenRevocation> findByCreatedAtGreaterThanEqualAndExpiresAtAfter(LocalDateTime since, LocalDateTime now);
+}
@@ -0,0 +1,13 @@
+package com.example.todo_app.reactive.repositories;
+
+import com.example.todo_app.reactive.models.User;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface UserRepository extends ReactiveCrudRepository<User, Long>
+{
+
+    Mono<User> findByUsername(String username);
+}
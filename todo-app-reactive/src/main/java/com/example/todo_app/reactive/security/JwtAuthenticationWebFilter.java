@@ -0,0 +1,85 @@
+package com.example.todo_app.reactive.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.List;
+
+/**
+ * Equivalente reativo do SecurityFilter da API MVC: valida o Bearer token e coloca o utilizador
+ * no contexto do Reactor. Token ausente ou inválido segue sem autenticação e a autorização decide.
+ */
+@Component
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    private final TokenService tokenService;
+    private final UserPrincipalCache principalCache;
+    private final Counter validTokens;
+    private final Counter invalidTokens;
+    private final Counter disabledUsers;
+
+    public JwtAuthenticationWebFilter(TokenService tokenService, UserPrincipalCache principalCache, MeterRegistry meterRegistry)
+    {
+        this.tokenService = tokenService;
+        this.principalCache = principalCache;
+        this.validTokens = tokenValidations(meterRegistry, "valid");
+        this.invalidTokens = tokenValidations(meterRegistry, "invalid");
+        this.disabledUsers = tokenValidations(meterRegistry, "disabled");
+        meterRegistry.gauge("auth.principal.cache.size", principalCache, UserPrincipalCache::size);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain)
+    {
+        String token = recoverToken(exchange);
+        if (token == null) {
+            return chain.filter(exchange);
+        }
+        // A verificação HMAC custa microssegundos e pode correr no event loop.
+        String username = tokenService.validateToken(token);
+        if (username == null) {
+            invalidTokens.increment();
+            return chain.filter(exchange);
+        }
+
+        return principalCache.get(username)
+                .filter(user -> {
+                    if (!user.enabled()) {
+                        disabledUsers.increment();
+                    }
+                    return user.enabled();
+                })
+                .map(user -> {
+                    validTokens.increment();
+                    return new UsernamePasswordAuthenticationToken(user, null, List.of(new SimpleGrantedAuthority(user.role())));
+                })
+                .map(ReactiveSecurityContextHolder::withAuthentication)
+                .defaultIfEmpty(Context.empty())
+                .flatMap(context -> chain.filter(exchange).contextWrite(context));
+    }
+
+    private static Counter tokenValidations(MeterRegistry meterRegistry, String outcome)
+    {
+        return Counter.builder("auth.token.validations")
+                .description("Resultado da validação do token JWT no JwtAuthenticationWebFilter")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static String recoverToken(ServerWebExchange exchange)
+    {
+        var authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null) return null;
+        return authHeader.replace("Bearer ", "");
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.todo_app.reactive.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Só valida tokens: a emissão (login, registo) continua na API MVC, com o mesmo emissor,
+ * os mesmos segredos e o mesmo kid no cabeçalho. As revogações feitas lá chegam pela
+ * {@link TokenRevocationList}.
+ */
+@Service
+public class TokenService {
+
+    static final String ISSUER = "todo-app-api";
+    private static final int MAX_TOKEN_LENGTH = 4096;
+
+    private final SecretKey activeKey;
+    private final Map<String, SecretKey> verificationKeys;
+    private final JwtParser parser;
+    private final TokenRevocationList revocationList;
+
+    public TokenService(TokenRevocationList revocationList,
+                        @Value("${api.security.token.secret}") String secret,
+                        @Value("${api.security.token.key-id:v1}") String keyId,
+                        @Value("${api.security.token.previous-keys:}") String previousKeys)
+    {
+        this.revocationList = revocationList;
+        this.activeKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+
+        Map<String, SecretKey> keys = new HashMap<>(parseKeys(previousKeys));
+        keys.put(keyId, activeKey);
+        this.verificationKeys = Map.copyOf(keys);
+
+        this.parser = Jwts.parserBuilder()
+                .requireIssuer(ISSUER)
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolveKey(header.getKeyId());
+                    }
+                })
+                .build();
+    }
+
+    public String validateToken(String token) {
+        return verify(token).map(Claims::getSubject).orElse(null);
+    }
+
+    public Optional<Claims> verify(String token) {
+        if (!looksLikeJws(token)) {
+            return Optional.empty();
+        }
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        Instant issuedAt = claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null;
+        if (revocationList.isRevoked(claims.getId(), claims.getSubject(), issuedAt)) {
+            return Optional.empty();
+        }
+        return Optional.of(claims);
+    }
+
+    private SecretKey resolveKey(String keyId) {
+        if (keyId == null) {
+            return activeKey;
+        }
+        SecretKey key = verificationKeys.get(keyId);
+        if (key == null) {
+            throw new UnsupportedJwtException("Chave de assinatura desconhecida: " + keyId);
+        }
+        return key;
+    }
+
+    private static boolean looksLikeJws(String token) {
+        if (token == null || token.isEmpty() || token.length() > MAX_TOKEN_LENGTH) {
+            return false;
+        }
+        int dots = 0;
+        for (int i = 0; i < token.length(); i++) {
+            if (token.charAt(i) == '.' && ++dots > 2) {
+                return false;
+            }
+        }
+        return dots == 2;
+    }
+
+    private static Map<String, SecretKey> parseKeys(String keys) {
+        Map<String, SecretKey> parsed = new HashMap<>();
+        if (keys == null || keys.isBlank()) {
+            return parsed;
+        }
+        for (String entry : keys.split(",")) {
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Formato inválido em api.security.token.previous-keys, use kid:segredo");
+            }
+            String kid = entry.substring(0, separator).trim();
+            String secret = entry.substring(separator + 1).trim();
+            parsed.put(kid, Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)));
+        }
+        return parsed;
+    }
+
+}
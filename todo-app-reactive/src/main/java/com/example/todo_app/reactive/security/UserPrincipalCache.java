@@ -0,0 +1,53 @@
+package com.example.todo_app.reactive.security;
+
+import com.example.todo_app.reactive.models.User;
+import com.example.todo_app.reactive.repositories.UserRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Utilizadores autenticados por username. Leituras concorrentes do mesmo username partilham
+ * a mesma consulta em curso; só utilizadores ativos ficam em cache.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final AsyncCache<String, User> entries;
+    private final UserRepository userRepository;
+
+    public UserPrincipalCache(UserRepository userRepository,
+                              @Value("${api.security.principal-cache.max-size:10000}") int maxSize,
+                              @Value("${api.security.principal-cache.ttl:5m}") Duration ttl)
+    {
+        this.userRepository = userRepository;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .buildAsync();
+    }
+
+    public Mono<User> get(String username)
+    {
+        return Mono.fromFuture(() -> entries.get(username, (key, executor) -> userRepository.findByUsername(key).toFuture()), true)
+                .doOnNext(user -> {
+                    if (!user.enabled()) {
+                        entries.synchronous().invalidate(username);
+                    }
+                });
+    }
+
+    public void invalidate(String username)
+    {
+        entries.synchronous().invalidate(username);
+    }
+
+    public long size()
+    {
+        return entries.synchronous().estimatedSize();
+    }
+}
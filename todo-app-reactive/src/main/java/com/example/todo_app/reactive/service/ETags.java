@@ -0,0 +1,27 @@
+package com.example.todo_app.reactive.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * ETags no mesmo formato da API MVC ({@code Representations.eTag} com JSON): um cliente que
+ * alterna entre as duas continua a receber 304.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String json(String prefix, String content)
+    {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            String digest = Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 22);
+            return "\"" + prefix + "." + digest + ".json\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
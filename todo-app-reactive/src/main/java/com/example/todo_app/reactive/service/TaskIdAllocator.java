@@ -0,0 +1,69 @@
+package com.example.todo_app.reactive.service;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Ids de tarefas tirados da mesma tasks_seq que o Hibernate usa na API MVC, com a mesma regra do
+ * otimizador pooled: o next_val lido reserva o bloco (next_val - 50, next_val] e a tabela avança 50.
+ * As duas APIs podem então inserir no mesmo banco sem colisão de ids.
+ */
+@Service
+public class TaskIdAllocator
+{
+    static final int ALLOCATION_SIZE = 50;
+
+    private record Block(AtomicLong next, long last) {}
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator newTransaction;
+    private final AtomicReference<Block> current = new AtomicReference<>(new Block(new AtomicLong(1), 0));
+
+    public TaskIdAllocator(DatabaseClient databaseClient, ReactiveTransactionManager transactionManager)
+    {
+        this.databaseClient = databaseClient;
+        // Como no Hibernate, o bloco é reservado numa transação à parte: um rollback da
+        // inserção não devolve os ids e o lock da tasks_seq é solto logo.
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.newTransaction = TransactionalOperator.create(transactionManager, definition);
+    }
+
+    public Mono<Long> nextId()
+    {
+        return Mono.defer(() -> {
+            Block block = current.get();
+            long id = block.next().getAndIncrement();
+            if (id <= block.last()) {
+                return Mono.just(id);
+            }
+            // Pedidos concorrentes podem reservar blocos diferentes; os ids que sobrarem viram lacunas.
+            return reserveBlock().map(reserved -> {
+                current.set(reserved);
+                return reserved.next().getAndIncrement();
+            });
+        });
+    }
+
+    private Mono<Block> reserveBlock()
+    {
+        Mono<Long> reserve = databaseClient.sql("SELECT next_val FROM tasks_seq FOR UPDATE")
+                .map(row -> row.get("next_val", Long.class))
+                .one()
+                .flatMap(last -> databaseClient.sql("UPDATE tasks_seq SET next_val = next_val + " + ALLOCATION_SIZE)
+                        .fetch()
+                        .rowsUpdated()
+                        .thenReturn(last));
+
+        return newTransaction.transactional(reserve)
+                .switchIfEmpty(Mono.error(new IllegalStateException("Tabela tasks_seq vazia: rode as migrações da API MVC")))
+                .map(last -> new Block(new AtomicLong(last - ALLOCATION_SIZE + 1), last));
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.todo_app.reactive.service;
+
+import com.example.todo_app.reactive.models.Task;
+import com.example.todo_app.reactive.models.User;
+import com.example.todo_app.reactive.models.dtos.TaskCreateDTO;
+import com.example.todo_app.reactive.models.dtos.TaskFilterDTO;
+import com.example.todo_app.reactive.models.dtos.TaskPageDTO;
+import com.example.todo_app.reactive.models.dtos.TaskResponseDTO;
+import com.example.todo_app.reactive.models.dtos.TaskUpdateDTO;
+import com.example.todo_app.reactive.models.enums.Status;
+import com.example.todo_app.reactive.repositories.TaskRepository;
+import com.example.todo_app.reactive.repositories.TaskTombstoneRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Mesmas regras do TaskService da API MVC (tamanho de página, cursor, ETag, 403 vs 404),
+ * sobre R2DBC.
+ */
+@Service
+public class TaskService {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskVersionService taskVersionService;
+
+    @Autowired
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Autowired
+    private TaskIdAllocator taskIdAllocator;
+
+    public static Mono<User> getCurrentAuthenticatedUser()
+    {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(context -> (User) context.getAuthentication().getPrincipal());
+    }
+
+    @Transactional(readOnly = true)
+    public Mono<String> taskListETag(String variant)
+    {
+        return getCurrentAuthenticatedUser().flatMap(user -> taskVersionService.currentVersion(user.id())
+                .map(version -> ETags.json("t" + user.id() + "." + version, variant == null ? "" : variant)));
+    }
+
+    @Transactional(readOnly = true)
+    public Mono<TaskPageDTO> findTaskPageForUser(TaskFilterDTO filter, String cursor, Integer limit)
+    {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        LocalDateTime dueFrom = filter.dueFrom() != null ? filter.dueFrom().atStartOfDay() : null;
+        LocalDateTime dueTo = filter.dueTo() != null ? filter.dueTo().plusDays(1).atStartOfDay() : null;
+        Long afterId = decodeCursor(cursor);
+
+        // Busca um item a mais para saber se existe uma próxima página sem precisar de um count.
+        return getCurrentAuthenticatedUser()
+                .flatMap(user -> taskRepository.findPageByUserId(
+                                user.id(), afterId,
+                                filter.status(), filter.priority(), dueFrom, dueTo,
+                                pageSize + 1)
+                        .map(TaskResponseDTO::from)
+                        .collectList())
+                .map(rows -> {
+                    if (rows.size() <= pageSize) {
+                        return new TaskPageDTO(rows, null);
+                    }
+                    List<TaskResponseDTO> items = rows.subList(0, pageSize);
+                    return new TaskPageDTO(items, encodeCursor(items.get(pageSize - 1).id()));
+                });
+    }
+
+    @Transactional
+    public Mono<TaskResponseDTO> createTask(TaskCreateDTO taskCreate)
+    {
+        LocalDateTime data = taskCreate.dueDate() != null ? taskCreate.dueDate().atStartOfDay() : null;
+
+        return getCurrentAuthenticatedUser().flatMap(currentUser -> taskIdAllocator.nextId()
+                .flatMap(id -> taskVersionService.nextVersion(currentUser.id())
+                        .flatMap(revision -> taskRepository.insert(new Task(
+                                id, taskCreate.title(), taskCreate.description(), taskCreate.priority(),
+                                data, Status.Fazer, currentUser.id(), revision)))))
+                .map(TaskResponseDTO::from);
+    }
+
+    @Transactional
+    public Mono<TaskResponseDTO> updateTask(TaskUpdateDTO taskUpdate, Long taskId)
+    {
+        LocalDateTime data = taskUpdate.dueDate() != null ? taskUpdate.dueDate().atStartOfDay() : null;
+
+        return getCurrentAuthenticatedUser().flatMap(currentUser -> taskVersionService.nextVersion(currentUser.id())
+                .flatMap(revision -> taskRepository.updateOwnedTask(taskId, currentUser.id(), revision,
+                        taskUpdate.title(), taskUpdate.description(),
+                        taskUpdate.priority() != null ? taskUpdate.priority().name() : null,
+                        taskUpdate.status() != null ? taskUpdate.status().name() : null,
+                        data))
+                .flatMap(updated -> updated == 0
+                        ? notFoundOrForbidden(taskId)
+                        : taskRepository.findById(taskId))
+                .map(TaskResponseDTO::from));
+    }
+
+    @Transactional
+    public Mono<Void> deleteTask(Long taskId)
+    {
+        return getCurrentAuthenticatedUser().flatMap(currentUser -> taskRepository.deleteOwnedTask(taskId, currentUser.id())
+                .flatMap(deleted -> deleted == 0
+                        ? notFoundOrForbidden(taskId)
+                        : taskVersionService.nextVersion(currentUser.id()))
+                .flatMap(revision -> taskTombstoneRepository.insert(taskId, currentUser.id(), revision, LocalDateTime.now())))
+                .then();
+    }
+
+    private <T> Mono<T> notFoundOrForbidden(Long taskId)
+    {
+        return taskRepository.existsById(taskId).flatMap(exists -> Mono.error(exists
+                ? new ResponseStatusException(HttpStatus.FORBIDDEN, "Acesso negado. Esta tarefa não lhe pertence.")
+                : new ResponseStatusException(HttpStatus.NOT_FOUND, "Tarefa não encontrada com o id " + taskId)));
+    }
+
+    private static String encodeCursor(Long lastId)
+    {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(lastId.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long decodeCursor(String cursor)
+    {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido.");
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.todo_app.reactive.service;
+
+import com.example.todo_app.reactive.repositories.TaskVersionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+/**
+ * Contador por utilizador incrementado a cada escrita em tarefas, partilhado com a API MVC:
+ * as ETags de {@code GET /tasks} valem nas duas.
+ */
+@Service
+public class TaskVersionService
+{
+    @Autowired
+    private TaskVersionRepository taskVersionRepository;
+
+    @Transactional(readOnly = true)
+    public Mono<Long> currentVersion(Long userId)
+    {
+        return taskVersionRepository.findVersionByUserId(userId).defaultIfEmpty(0L);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Mono<Long> nextVersion(Long userId)
+    {
+        return taskVersionRepository.incrementVersion(userId)
+                .then(taskVersionRepository.findVersionByUserId(userId));
+    }
+}
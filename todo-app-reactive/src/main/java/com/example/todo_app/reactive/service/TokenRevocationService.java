@@ -0,0 +1,96 @@
+package com.example.todo_app.reactive.service;
+
+import com.example.todo_app.reactive.models.TokenRevocation;
+import com.example.todo_app.reactive.repositories.TokenRevocationRepository;
+import com.example.todo_app.reactive.security.TokenRevocationList;
+import com.example.todo_app.reactive.security.UserPrincipalCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Mantém a {@link TokenRevocationList} desta instância em dia com a tabela token_revocations, que só
+ * a API MVC grava. Como lá, a verificação em cada pedido fica em memória e uma revogação feita
+ * noutra instância vale aqui a partir da próxima sincronização
+ * ({@code api.security.revocation.sync-interval-ms}). A limpeza da tabela também fica com a MVC.
+ */
+@Service
+public class TokenRevocationService
+{
+    private static final Duration LOAD_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final TokenRevocationList revocationList;
+    private final UserPrincipalCache principalCache;
+    private final long syncIntervalMillis;
+
+    private volatile LocalDateTime lastSync;
+
+    public TokenRevocationService(TokenRevocationRepository tokenRevocationRepository,
+                                  TokenRevocationList revocationList,
+                                  UserPrincipalCache principalCache,
+                                  @Value("${api.security.revocation.sync-interval-ms:5000}") long syncIntervalMillis)
+    {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+        this.revocationList = revocationList;
+        this.principalCache = principalCache;
+        this.syncIntervalMillis = syncIntervalMillis;
+    }
+
+    // Corre antes de o Netty aceitar pedidos: sem a carga, um token revogado ainda seria aceite.
+    @PostConstruct
+    public void loadRevocations()
+    {
+        LocalDateTime now = LocalDateTime.now();
+        tokenRevocationRepository.findByExpiresAtAfter(now)
+                .doOnNext(this::apply)
+                .then()
+                .block(LOAD_TIMEOUT);
+        lastSync = now;
+    }
+
+    @Scheduled(fixedDelayString = "${api.security.revocation.sync-interval-ms:5000}",
+            initialDelayString = "${api.security.revocation.sync-interval-ms:5000}")
+    public Mono<Void> syncRevocations()
+    {
+        return Mono.defer(() -> {
+            LocalDateTime since = lastSync;
+            LocalDateTime now = LocalDateTime.now();
+            if (since == null) {
+                return Mono.empty();
+            }
+            // Relê um intervalo a mais: transações que gravaram antes mas fizeram commit depois da última leitura.
+            return tokenRevocationRepository.findByCreatedAtGreaterThanEqualAndExpiresAtAfter(
+                            since.minus(Duration.ofMillis(syncIntervalMillis)), now)
+                    .doOnNext(this::apply)
+                    .then(Mono.fromRunnable(() -> lastSync = now));
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${api.security.revocation.prune-interval-ms:60000}")
+    public void pruneExpired()
+    {
+        revocationList.prune(Instant.now());
+    }
+
+    private void apply(TokenRevocation revocation)
+    {
+        Instant expiresAt = revocation.expiresAt().atZone(zone).toInstant();
+        if (revocation.jti() != null) {
+            revocationList.revokeToken(revocation.jti(), expiresAt);
+        } else if (revocation.username() != null && revocation.issuedBefore() != null) {
+            revocationList.revokeAllForUser(revocation.username(),
+                    revocation.issuedBefore().atZone(zone).toInstant(), expiresAt);
+            // O utilizador pode ter sido desativado ou mudado de role: relê-o do banco.
+            principalCache.invalidate(revocation.username());
+        }
+    }
+}